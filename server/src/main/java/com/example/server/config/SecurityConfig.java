@@ -20,6 +20,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.beans.factory.annotation.Value;
 
 import com.example.server.security.JwtAuthenticationFilter;
+import com.example.server.security.PartnerApiKeyFilter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PartnerApiKeyFilter partnerApiKeyFilter;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
@@ -49,14 +51,20 @@ public class SecurityConfig {
                 // Fix: Cho phép quên mật khẩu và đặt lại mật khẩu (Public)
                 .requestMatchers(HttpMethod.POST, "/api/users/forgot-password", "/api/users/reset-password").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/jobs/search").permitAll() // Search Job (Public)
+                .requestMatchers(HttpMethod.GET, "/api/jobs/suggest").permitAll() // Typeahead (Public)
+                // NDJSON Export toàn bộ catalog: chỉ đối tác (X-API-Key) hoặc Admin
+                .requestMatchers(HttpMethod.GET, "/api/jobs/export").hasAnyRole("PARTNER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/jobs/recommended").authenticated() // Gợi ý theo profile (phải khai báo trước /{id})
                 .requestMatchers(HttpMethod.GET, "/api/jobs/{id}").permitAll()    // Job Detail (Public)
+                .requestMatchers(HttpMethod.GET, "/api/jobs/{id}/similar").permitAll() // Similar Jobs (Public)
                 .requestMatchers(HttpMethod.GET, "/api/companies/{id}").permitAll() // Company Detail (Public)
                 .requestMatchers(HttpMethod.GET, "/api/general/stats").permitAll() // General Stats (Public)
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/ws/**").permitAll() // Allow WebSocket Handshake
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(partnerApiKeyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
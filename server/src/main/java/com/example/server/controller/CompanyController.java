@@ -16,13 +16,13 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.server.dto.CompanyDtos.CompanyResponse;
 import com.example.server.dto.CompanyDtos.CreateCompanyRequest;
 import com.example.server.dto.CompanyDtos.UpdateCompanyRequest;
 import com.example.server.dto.CompanyDtos.VerifyCompanyRequest;
-import com.example.server.dto.JobDtos.JobDto;
 import com.example.server.security.CustomUserDetails;
 import com.example.server.service.CompanyService;
 import com.example.server.service.JobService;
@@ -65,10 +65,15 @@ public class CompanyController {
         return ResponseEntity.ok(companyService.getCompanyById(id));
     }
 
+    // view=summary: JobSummaryDto (không có description) cho trang danh sách
     @GetMapping("/{id}/jobs")
-    public ResponseEntity<Page<JobDto>> getJobsByCompany(
+    public ResponseEntity<Page<?>> getJobsByCompany(
             @PathVariable String id,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "full") String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(jobService.getJobSummariesByCompanyId(id, pageable));
+        }
         return ResponseEntity.ok(jobService.getJobsByCompanyId(id, pageable));
     }
 
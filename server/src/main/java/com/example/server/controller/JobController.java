@@ -1,10 +1,21 @@
 package com.example.server.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,16 +25,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.server.dto.JobDtos.CreateJobDto;
 import com.example.server.dto.JobDtos.JobDto;
+import com.example.server.dto.JobDtos.JobImportReport;
 import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.dto.JobDtos.JobSuggestion;
+import com.example.server.dto.JobDtos.JobSummaryDto;
+import com.example.server.dto.JobDtos.RecommendedJobDto;
 import com.example.server.dto.JobDtos.UpdateJobDto;
 import com.example.server.security.CustomUserDetails;
+import com.example.server.service.JobImportService;
+import com.example.server.service.JobRecommendationService;
 import com.example.server.service.JobService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -35,8 +60,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JobController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     // Inject Interface, không inject Implementation (JobServiceImpl) trực tiếp
     private final JobService jobService;
+    private final JobRecommendationService jobRecommendationService;
+    private final JobImportService jobImportService;
+
+    // Export cả catalog có thể chạy lâu hơn timeout async mặc định; chỉ nới cho riêng endpoint này
+    @Value("${app.jobs.export.timeout:30m}")
+    private Duration exportTimeout;
 
     /**
      * Tìm kiếm việc làm (Public Endpoint).
@@ -44,25 +77,117 @@ public class JobController {
      * 
      * @param request Object chứa các tham số search (Query Params).
      * @param pageable Thông tin phân trang (Mặc định: page 0, size 10, sort createdAt desc).
+     * @param paging "offset" (mặc định, trả về Page) hoặc "cursor" (keyset pagination cho infinite scroll).
+     * @param cursor Chuỗi nextCursor của trang trước (chỉ dùng với paging=cursor, bỏ trống cho trang đầu).
+     * @param withTotal Chỉ với paging=cursor: có tính tổng số kết quả hay không (mặc định không).
+     * @param facets true: trả về kèm số lượng theo city/category/type/status/khoảng lương.
+     * @param view "full" (mặc định, JobDto) hoặc "summary" (JobSummaryDto cho trang danh sách, không có description).
+     *             Chỉ áp dụng cho paging=offset không kèm facets.
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<JobDto>> searchJobs(
+    public ResponseEntity<?> searchJobs(
             JobSearchRequest request, 
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(defaultValue = "full") String view) {
         // Xử lý trường hợp request null (phòng ngừa, dù Spring thường tự khởi tạo object rỗng với GET)
         if (request == null) {
-            request = new JobSearchRequest(null, null, null, null, null, null, null, null);
+            request = new JobSearchRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        }
+        if ("cursor".equalsIgnoreCase(paging)) {
+            return ResponseEntity.ok(jobService.searchJobsByCursor(request, cursor, pageable.getPageSize(), withTotal));
+        }
+        if (facets) {
+            return ResponseEntity.ok(jobService.searchJobsWithFacets(request, pageable));
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(jobService.searchJobSummaries(request, pageable));
         }
         return ResponseEntity.ok(jobService.searchJobs(request, pageable));
     }
 
+    /**
+     * Gợi ý khi gõ cho ô tìm kiếm (Public Endpoint).
+     * GET /api/jobs/suggest?prefix=ke%20to&limit=10
+     *
+     * @param prefix Chuỗi người dùng đang gõ (không phân biệt dấu/hoa thường).
+     * @param limit Số gợi ý tối đa (mặc định 10, tối đa 20).
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<JobSuggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(jobService.suggest(prefix, limit));
+    }
+
+    /**
+     * Export toàn bộ kết quả search dạng NDJSON (1 JobDto mỗi dòng) cho đối tác đồng bộ catalog.
+     * GET /api/jobs/export?status=OPEN&updatedSince=2025-01-01T00:00:00Z
+     * Yêu cầu header X-API-Key của đối tác (hoặc token Admin).
+     *
+     * @param request Cùng filter với /search (keyword = title bắt đầu bằng keyword).
+     * @param updatedSince Chỉ lấy Job có updatedAt >= mốc này (đồng bộ incremental).
+     *                     JobDto sắp theo updatedAt tăng dần, theo sau là các dòng báo xóa
+     *                     {"id":"...","deleted":true,"deletedAt":"..."} (deletedAt tăng dần) của Job bị xóa từ mốc này.
+     *                     Mốc cho lần sau = updatedAt/deletedAt lớn nhất đã nhận. Job xóa cũ hơn
+     *                     app.jobs.sweeper.tombstone-retention không còn được báo -> đồng bộ lại toàn bộ.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportJobs(
+            JobSearchRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            HttpServletRequest servletRequest) {
+        // Đặt timeout trước khi Spring bắt đầu xử lý async cho StreamingResponseBody (chỉ request này)
+        WebAsyncUtils.getAsyncManager(servletRequest).registerCallableInterceptor("jobExportTimeout",
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                    if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                        asyncWebRequest.setTimeout(exportTimeout.toMillis());
+                    }
+                }
+            });
+        JobSearchRequest filters = request != null
+            ? request
+            : new JobSearchRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        StreamingResponseBody body = out -> jobService.exportJobs(filters, updatedSince, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(body);
+    }
+
+    /**
+     * Việc làm gợi ý cho Job Seeker đang đăng nhập (tính sẵn từ Skill/Experience của profile).
+     * GET /api/jobs/recommended?limit=20
+     */
+    @GetMapping("/recommended")
+    public ResponseEntity<List<RecommendedJobDto>> getRecommendedJobs(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(jobRecommendationService.getRecommendations(userDetails.getId(), Math.max(1, limit)));
+    }
+
     /**
      * Lấy chi tiết một công việc.
      * GET /api/jobs/{id}
      */
     @GetMapping("/{id}")
     public ResponseEntity<JobDto> getJobById(@PathVariable String id) {
-        return ResponseEntity.ok(jobService.getJobById(id));
+        return ResponseEntity.ok(jobService.viewJob(id));
+    }
+
+    /**
+     * Việc làm tương tự (cùng nội dung title/description/tags), chỉ gồm Job đang OPEN.
+     * GET /api/jobs/{id}/similar?limit=10
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<JobSummaryDto>> getSimilarJobs(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(jobService.getSimilarJobs(id, Math.max(1, Math.min(limit, 50))));
     }
 
     /**
@@ -96,6 +221,26 @@ public class JobController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdJob);
     }
 
+    /**
+     * Import hàng loạt tin tuyển dụng (Recruiter). Body là file thô, được đọc dạng stream:
+     * - text/csv: dòng đầu là header (title,companyId,description,city,address,category,employmentType,
+     *   minExperience,salaryMin,salaryMax,deadline,tags), nhiều tag phân tách bằng |
+     * - application/x-ndjson: mỗi dòng 1 CreateJobDto
+     * POST /api/jobs/import
+     * Trả về báo cáo từng dòng (CREATED / INVALID / DUPLICATE / FAILED).
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<JobImportReport> importJobs(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        JobImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+            ? JobImportService.Format.CSV
+            : JobImportService.Format.NDJSON;
+        return ResponseEntity.ok(jobImportService.importJobs(body, format, userDetails.getId()));
+    }
+
     /**
      * Cập nhật tin tuyển dụng.
      * PUT /api/jobs/{id}
@@ -1,8 +1,11 @@
 package com.example.server.dto;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 
+import org.springframework.data.domain.Page;
+
 import com.example.server.model.JobStatus;
 import com.example.server.model.JobType;
 
@@ -28,7 +31,9 @@ public class JobDtos {
         String id,
         String jobId,
         String city,
-        String address
+        String address,
+        Double latitude,
+        Double longitude
     ) {}
 
     public record CreateLocationDto(
@@ -68,7 +73,50 @@ public class JobDtos {
         Double maxSalary,
         Integer minExperience,
         JobType jobType,
-        JobStatus status
+        JobStatus status,
+        List<String> tags,     // tags=java,spring
+        String tagMode,        // "all" (mặc định): có đủ mọi tag | "any": có ít nhất 1 tag
+        Double lat,            // Tìm theo bán kính quanh (lat, lon), kết quả sắp theo khoảng cách
+        Double lon,
+        Double radiusKm        // Mặc định 10 km
+    ) {}
+
+    // --- Cursor (Keyset) Pagination Response ---
+    // Mentor Note: nextCursor = null nghĩa là đã hết dữ liệu.
+    // totalElements chỉ được tính khi client yêu cầu (withTotal=true) vì count tốn chi phí.
+    public record JobCursorPage(
+        List<JobDto> content,
+        int size,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+    ) {}
+
+    // --- Facets (Search kèm số lượng theo từng giá trị filter) ---
+    public record FacetBucket(
+        String value,
+        long count
+    ) {}
+
+    public record JobSearchFacets(
+        List<FacetBucket> cities,
+        List<FacetBucket> categories,
+        List<FacetBucket> employmentTypes,
+        List<FacetBucket> statuses,
+        List<FacetBucket> salaryRanges
+    ) {}
+
+    public record JobSearchWithFacets(
+        Page<JobDto> results,
+        JobSearchFacets facets
+    ) {}
+
+    // --- Typeahead (GET /api/jobs/suggest) ---
+    // type: "title" | "tag" | "city" | "category"; count = số Job đang OPEN
+    public record JobSuggestion(
+        String text,
+        String type,
+        long count
     ) {}
 
     // --- Main Job DTOs ---
@@ -88,7 +136,56 @@ public class JobDtos {
         Set<String> tags,
         String postedByUserId,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        Long viewCount            // null khi mapping từ read model (export)
+    ) {}
+
+    // --- Export: dòng báo xóa (chỉ khi có updatedSince), deleted luôn = true ---
+    public record JobDeletionDto(
+        String id,
+        boolean deleted,
+        Instant deletedAt
+    ) {}
+
+    // --- List View (view=summary) ---
+    // Mentor Note: Trang danh sách chỉ hiển thị title, company, city, lương, tags.
+    // Không có description/address/category -> payload nhỏ hơn JobDto cả chục lần.
+    public record JobSummaryDto(
+        String id,
+        String title,
+        CompanyDto company,
+        String city,
+        JobType employmentType,
+        Double salaryMin,
+        Double salaryMax,
+        Set<String> tags,
+        JobStatus status,
+        Instant deadline,
+        Instant createdAt
+    ) {}
+
+    // --- Recommendation ("Jobs for you") ---
+    public record RecommendedJobDto(
+        JobSummaryDto job,
+        double score
+    ) {}
+
+    // --- Bulk Import Report ---
+    public enum ImportRowStatus { CREATED, INVALID, DUPLICATE, FAILED }
+
+    public record JobImportRowResult(
+        long row,          // Số thứ tự dòng dữ liệu (1 = dòng đầu tiên sau header CSV)
+        ImportRowStatus status,
+        String jobId,      // CREATED: Job mới; DUPLICATE: Job đã có
+        String error
+    ) {}
+
+    public record JobImportReport(
+        long total,
+        long created,
+        long rejected,
+        boolean truncated, // Vượt quá app.jobs.import.max-rows: phần còn lại không được đọc
+        List<JobImportRowResult> rows
     ) {}
 
     public record CreateJobDto(
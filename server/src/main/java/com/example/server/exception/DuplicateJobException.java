@@ -0,0 +1,14 @@
+package com.example.server.exception;
+
+public class DuplicateJobException extends RuntimeException {
+    private final String existingJobId;
+
+    public DuplicateJobException(String existingJobId) {
+        super("A near-identical job is already posted by this company: " + existingJobId);
+        this.existingJobId = existingJobId;
+    }
+
+    public String getExistingJobId() {
+        return existingJobId;
+    }
+}
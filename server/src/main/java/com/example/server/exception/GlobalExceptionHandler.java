@@ -3,6 +3,7 @@ package com.example.server.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -22,6 +23,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    // Tin tuyển dụng gần trùng tin đang có của cùng công ty (app.jobs.duplicate.policy=REJECT)
+    @ExceptionHandler(DuplicateJobException.class)
+    public ResponseEntity<?> handleDuplicateJob(DuplicateJobException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "duplicate_job");
+        body.put("message", ex.getMessage());
+        body.put("existingJobId", ex.getExistingJobId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, Object> errors = new HashMap<>();
@@ -35,6 +46,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    // ID không đúng định dạng ObjectId (ví dụ /api/applications/job/abc) -> 400 thay vì 500
+    @ExceptionHandler(ConversionFailedException.class)
+    public ResponseEntity<?> handleConversionFailed(ConversionFailedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "invalid_id");
+        body.put("message", "Invalid id: " + ex.getValue());
+        return ResponseEntity.badRequest().body(body);
+    }
+
     // Xử lý lỗi đăng nhập (Sai pass, Account locked/banned/inactive)
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<?> handleBadCredentials(BadCredentialsException ex) {
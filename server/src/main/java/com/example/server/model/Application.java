@@ -5,6 +5,8 @@ import java.time.Instant;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -26,10 +28,12 @@ public class Application {
 
     // Mentor Note: Đánh index để tìm nhanh danh sách đơn ứng tuyển của một Job cụ thể
     @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
     private String jobId;
 
     // Mentor Note: Đánh index để tìm nhanh lịch sử ứng tuyển của một ứng viên (My Applications)
     @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
     private String jobSeekerId;
 
     private String resumeUrl;
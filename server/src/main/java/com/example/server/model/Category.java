@@ -3,6 +3,8 @@ package com.example.server.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,5 +23,9 @@ public class Category {
     private String name;
 
     @Indexed
+    private String nameFolded; // name không dấu, lower-case (tự cập nhật khi ghi - FoldedFieldCallback)
+
+    @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
     private String jobId; // Xác định Category này thuộc về Job nào (MVP)
 }
\ No newline at end of file
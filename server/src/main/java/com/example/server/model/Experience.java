@@ -6,6 +6,8 @@ import java.time.LocalDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -25,6 +27,7 @@ public class Experience {
     private String id;
 
     @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
     private String profileId; // Foreign Key to JobSeekerProfile
 
     private String companyName;
@@ -6,6 +6,8 @@ import java.util.Set;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -28,6 +30,10 @@ public class Job {
     private String title;
 
     @Indexed
+    private String titleFolded; // title không dấu, lower-case (tự cập nhật khi ghi - FoldedFieldCallback)
+
+    @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
     private String companyId; // Tham chiếu đến Company đã tạo
 
     private String description;
@@ -46,8 +52,19 @@ public class Job {
     private Instant deadline;      // Hạn nộp hồ sơ
 
     private Set<String> tags;
+    @Field(targetType = FieldType.OBJECT_ID)
     private String postedByUserId;
 
     private Instant createdAt;
     private Instant updatedAt;
+
+    // Lượt xem đã flush xuống DB (JobViewCounter cộng dồn bằng $inc, không ghi theo từng request)
+    private Long viewCount;
+
+    // Tombstone: Job đã bị xóa, đang chờ JobTombstoneSweeper dọn Location/Category/Application
+    @Indexed(sparse = true)
+    private Instant deletedAt;
+
+    // Đã dọn xong dữ liệu phụ thuộc; tombstone còn giữ tới hết retention để export incremental báo xóa
+    private Instant sweptAt;
 }
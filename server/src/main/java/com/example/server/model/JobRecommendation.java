@@ -0,0 +1,36 @@
+package com.example.server.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Top-K Job gợi ý đã tính sẵn cho 1 Job Seeker (xem JobRecommender).
+ * Mentor Note: _id = userId nên /api/jobs/recommended chỉ là 1 lần đọc theo khóa chính,
+ * không phải chấm điểm lại lúc request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_recommendations")
+public class JobRecommendation {
+    @Id
+    private String userId;
+
+    private String profileId;
+
+    // Điểm giảm dần
+    private List<ScoredJob> jobs;
+
+    private Instant computedAt;
+
+    public record ScoredJob(String jobId, double score) {}
+}
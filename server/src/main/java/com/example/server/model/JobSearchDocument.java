@@ -0,0 +1,88 @@
+package com.example.server.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model (denormalized) phục vụ tìm kiếm việc làm.
+ * Mentor Note: Mỗi document = 1 Job + city/address của Location + name của Category,
+ * nên searchJobs không cần $lookup sang "locations"/"categories" nữa.
+ * Tên các field native trùng với Job để có thể đọc thẳng document này thành Job.
+ * Được đồng bộ bởi JobSearchIndexer mỗi khi Job được tạo/sửa/xóa.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_search")
+@CompoundIndexes({
+    // (createdAt, _id) là sort key duy nhất cho keyset pagination
+    @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "employmentType_createdAt", def = "{'employmentType': 1, 'createdAt': -1, '_id': -1}"),
+    // Salary overlap: equality (status, type) trước, band (multikey) sau - xem SalaryBands
+    @CompoundIndex(name = "status_type_salaryBands", def = "{'status': 1, 'employmentType': 1, 'salaryBands': 1}"),
+    // Export tăng dần theo updatedAt (đồng bộ incremental của đối tác - updatedSince)
+    @CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
+})
+public class JobSearchDocument {
+    @Id
+    private String id; // = Job.id
+
+    private String title;
+
+    // Shadow field không dấu (TextNormalizer.fold) - query prefix ^... dùng được index
+    @Indexed
+    private String titleFolded;
+
+    @Indexed
+    private String companyId;
+
+    private String description;
+    private JobType employmentType;
+    private Integer minExperience;
+    private Double salaryMin;
+    private Double salaryMax;
+    private List<Integer> salaryBands; // Các band lương mà [salaryMin, salaryMax] phủ qua (SalaryBands)
+    private JobStatus status;
+    private Instant deadline;
+    private Set<String> tags;
+    // Tag đã bỏ dấu/lower-case; multikey index phục vụ tags=...&tagMode=all|any
+    @Indexed
+    private Set<String> tagsFolded;
+    private String postedByUserId;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    // --- Denormalized từ Location ---
+    private String locationId;
+    private String city;
+    @Indexed
+    private String cityFolded;
+    private String address;
+    // [lon, lat] của Location - 2dsphere index cho tìm theo bán kính ($geoWithin / $nearSphere)
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint position;
+
+    // --- Denormalized từ Category ---
+    private String categoryId;
+    private String categoryName;
+    @Indexed
+    private String categoryNameFolded;
+}
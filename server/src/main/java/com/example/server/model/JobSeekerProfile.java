@@ -6,6 +6,8 @@ import java.util.Set;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -25,6 +27,7 @@ public class JobSeekerProfile {
     private String id;
 
     @Indexed(unique = true)
+    @Field(targetType = FieldType.OBJECT_ID)
     private String userId; // Foreign Key 1:1 with User
 
     private String fullName;
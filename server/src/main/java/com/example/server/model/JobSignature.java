@@ -0,0 +1,33 @@
+package com.example.server.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MinHash signature đã tính của 1 Job (xem JobSimilarityIndex).
+ * Mentor Note: Lưu lại để lúc khởi động chỉ phải đọc signature thay vì shingle + hash lại toàn bộ
+ * description. contentHash = hash của title/description/tags lúc tính: lệch thì tính lại.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_signatures")
+public class JobSignature {
+    @Id
+    private String id; // = Job.id
+
+    private long contentHash;
+
+    // int[] MinHash dạng big-endian (4 byte/hash)
+    private byte[] signature;
+
+    private Instant updatedAt;
+}
@@ -3,6 +3,8 @@ package com.example.server.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,8 +21,17 @@ public class Location {
     private String id;
 
     private String city;
+
+    @Indexed
+    private String cityFolded; // city không dấu, lower-case (tự cập nhật khi ghi - FoldedFieldCallback)
+
     private String address;
 
+    // Tọa độ trung tâm quận/huyện hoặc tỉnh (tự geocode offline khi ghi - LocationGeocodingCallback)
+    private Double latitude;
+    private Double longitude;
+
     @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
     private String jobId; // Xác định Location này thuộc về Job nào
 }
\ No newline at end of file
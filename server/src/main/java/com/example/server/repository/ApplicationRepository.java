@@ -11,7 +11,7 @@ import com.example.server.model.Application;
 import com.example.server.model.ApplicationStatus;
 
 @Repository
-public interface ApplicationRepository extends MongoRepository<Application, String> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, ApplicationRepositoryCustom {
 
     // Mentor Note: Tìm danh sách đơn ứng tuyển của một ứng viên cụ thể (My Applications)
     // Hỗ trợ phân trang để hiển thị danh sách dài.
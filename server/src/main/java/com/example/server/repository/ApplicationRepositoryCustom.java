@@ -0,0 +1,16 @@
+package com.example.server.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.server.model.Application;
+
+/**
+ * Các danh sách Application được đọc nhiều nhất, decode bằng ApplicationCodec
+ * (ghi đè derived query cùng tên trong ApplicationRepository).
+ */
+public interface ApplicationRepositoryCustom {
+    Page<Application> findAllByJobSeekerId(String jobSeekerId, Pageable pageable);
+
+    Page<Application> findAllByJobId(String jobId, Pageable pageable);
+}
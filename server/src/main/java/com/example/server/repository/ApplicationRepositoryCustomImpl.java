@@ -0,0 +1,35 @@
+package com.example.server.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.server.model.Application;
+import com.example.server.repository.codec.EntityCodecs;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ApplicationRepositoryCustomImpl implements ApplicationRepositoryCustom {
+
+    private final EntityCodecs entityCodecs;
+
+    @Override
+    public Page<Application> findAllByJobSeekerId(String jobSeekerId, Pageable pageable) {
+        return findPage(new Query(Criteria.where("jobSeekerId").is(jobSeekerId)), pageable);
+    }
+
+    @Override
+    public Page<Application> findAllByJobId(String jobId, Pageable pageable) {
+        return findPage(new Query(Criteria.where("jobId").is(jobId)), pageable);
+    }
+
+    private Page<Application> findPage(Query query, Pageable pageable) {
+        List<Application> applications = entityCodecs.find(Query.of(query).with(pageable), Application.class);
+        return PageableExecutionUtils.getPage(applications, pageable, () -> entityCodecs.count(query, Application.class));
+    }
+}
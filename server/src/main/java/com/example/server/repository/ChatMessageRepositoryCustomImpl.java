@@ -9,10 +9,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Repository;
 
 import com.example.server.model.ChatMessage;
+import com.example.server.repository.codec.EntityCodecs;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 public class ChatMessageRepositoryCustomImpl implements ChatMessageRepositoryCustom {
 
     private final MongoTemplate mongoTemplate;
+    private final EntityCodecs entityCodecs;
 
     @Override
     public Page<ChatMessage> findConversations(String userId, Pageable pageable) {
@@ -43,7 +46,8 @@ public class ChatMessageRepositoryCustomImpl implements ChatMessageRepositoryCus
         long total = countResults.getUniqueMappedResult() != null ? countResults.getUniqueMappedResult().total : 0;
 
         // 2. Fetch Data
-        Aggregation aggregation = Aggregation.newAggregation(
+        TypedAggregation<ChatMessage> aggregation = Aggregation.newAggregation(
+            ChatMessage.class,
             Aggregation.match(criteria),
             Aggregation.sort(Sort.Direction.DESC, "createdAt"), // Sort messages to get latest first
             Aggregation.group("chatId").first("$$ROOT").as("latestMessage"),
@@ -53,9 +57,8 @@ public class ChatMessageRepositoryCustomImpl implements ChatMessageRepositoryCus
             Aggregation.limit(pageable.getPageSize())
         );
 
-        List<ChatMessage> results = mongoTemplate.aggregate(
-            aggregation, ChatMessage.class, ChatMessage.class
-        ).getMappedResults();
+        // Mentor Note: Kết quả decode thẳng bằng ChatMessageCodec (không qua Document + reflection)
+        List<ChatMessage> results = entityCodecs.aggregate(aggregation, ChatMessage.class);
 
         return new PageImpl<>(results, pageable, total);
     }
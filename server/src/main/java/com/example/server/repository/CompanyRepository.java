@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
 import com.example.server.model.Company;
 
 @Repository
-public interface CompanyRepository extends MongoRepository<Company, String> {
+public interface CompanyRepository extends MongoRepository<Company, String>, CompanyRepositoryCustom {
 
     // Tìm công ty do một Recruiter cụ thể tạo ra (Logic 1 Recruiter - 1 Company)
     Optional<Company> findByRecruiterId(String recruiterId);
@@ -0,0 +1,10 @@
+package com.example.server.repository;
+
+import java.util.List;
+
+import com.example.server.model.Company;
+
+public interface CompanyRepositoryCustom {
+    // Ghi đè findAllById mặc định: decode bằng CompanyCodec (hydrate company cho trang Job)
+    List<Company> findAllById(Iterable<String> ids);
+}
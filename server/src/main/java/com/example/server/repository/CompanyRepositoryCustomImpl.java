@@ -0,0 +1,19 @@
+package com.example.server.repository;
+
+import java.util.List;
+
+import com.example.server.model.Company;
+import com.example.server.repository.codec.EntityCodecs;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class CompanyRepositoryCustomImpl implements CompanyRepositoryCustom {
+
+    private final EntityCodecs entityCodecs;
+
+    @Override
+    public List<Company> findAllById(Iterable<String> ids) {
+        return entityCodecs.findAllById(ids, Company.class);
+    }
+}
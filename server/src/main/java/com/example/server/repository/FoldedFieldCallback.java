@@ -0,0 +1,99 @@
+package com.example.server.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.Category;
+import com.example.server.model.Job;
+import com.example.server.model.Location;
+import com.example.server.search.TextNormalizer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Giữ các shadow field không dấu (Job.titleFolded, Location.cityFolded, Category.nameFolded)
+ * luôn khớp với field gốc.
+ * Mentor Note: BeforeConvertCallback chạy trước mọi lần save() qua repository/MongoTemplate,
+ * nên service không cần nhớ set tay. Dữ liệu cũ được backfill 1 lần lúc khởi động.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FoldedFieldCallback implements BeforeConvertCallback<Object> {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    // MongoTemplate -> MappingMongoConverter nạp mọi EntityCallback lúc khởi tạo: inject thẳng sẽ tạo vòng
+    // phụ thuộc, chỉ lấy template khi backfill chạy (ApplicationReadyEvent)
+    private final ObjectProvider<MongoTemplate> mongoTemplateProvider;
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (entity instanceof Job job) {
+            job.setTitleFolded(TextNormalizer.fold(job.getTitle()));
+        } else if (entity instanceof Location location) {
+            location.setCityFolded(TextNormalizer.fold(location.getCity()));
+        } else if (entity instanceof Category category) {
+            category.setNameFolded(TextNormalizer.fold(category.getName()));
+        }
+        return entity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        backfill(Job.class, "title", "titleFolded");
+        backfill(Location.class, "city", "cityFolded");
+        backfill(Category.class, "name", "nameFolded");
+    }
+
+    /**
+     * Set shadow field cho các document chưa có (chỉ đọc _id + field gốc, ghi bằng bulk update theo lô).
+     */
+    private void backfill(Class<?> entityClass, String source, String target) {
+        MongoTemplate mongoTemplate = mongoTemplateProvider.getObject();
+        Query query = new Query(Criteria.where(target).isNull().and(source).ne(null));
+        query.fields().include(source);
+
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        long updated = 0;
+        List<Document> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                batch.add(document);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    updated += flush(entityClass, source, target, batch);
+                }
+            }
+        }
+        updated += flush(entityClass, source, target, batch);
+        if (updated > 0) log.info("Backfilled {}.{} for {} documents", collection, target, updated);
+    }
+
+    private int flush(Class<?> entityClass, String source, String target, List<Document> batch) {
+        if (batch.isEmpty()) return 0;
+        MongoTemplate mongoTemplate = mongoTemplateProvider.getObject();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        for (Document document : batch) {
+            bulk.updateOne(
+                    new Query(Criteria.where("_id").is(document.get("_id"))),
+                    new Update().set(target, TextNormalizer.fold(document.getString(source))));
+        }
+        int count = bulk.execute().getModifiedCount();
+        batch.clear();
+        return count;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.server.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.server.model.JobRecommendation;
+
+@Repository
+public interface JobRecommendationRepository extends MongoRepository<JobRecommendation, String> {
+}
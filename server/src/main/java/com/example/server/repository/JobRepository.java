@@ -1,10 +1,16 @@
 package com.example.server.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import com.example.server.model.Job;
@@ -12,6 +18,45 @@ import com.example.server.model.Job;
 @Repository
 public interface JobRepository extends MongoRepository<Job, String>, JobRepositoryCustom {
     Page<Job> findByTitleContainingIgnoreCase(String title, Pageable pageable);
-    Page<Job> findByCompanyId(String companyId, Pageable pageable);
-    boolean existsByCompanyId(String companyId);
+    Page<Job> findByCompanyIdAndDeletedAtIsNull(String companyId, Pageable pageable);
+    boolean existsByCompanyIdAndDeletedAtIsNull(String companyId);
+
+    // --- Tombstone (xóa mềm, xem JobTombstoneSweeper) ---
+    // Job đã bị đánh dấu xóa được coi như không tồn tại với mọi API
+    default Optional<Job> findActiveById(String id) {
+        return findById(id).filter(job -> job.getDeletedAt() == null);
+    }
+
+    boolean existsByIdAndDeletedAtIsNull(String id);
+
+    long countByDeletedAtIsNull();
+
+    // Job còn hoạt động trong danh sách (chỉ _id) - dùng để dọn document thừa trong read model
+    @Query(value = "{ '_id': { '$in': ?0 }, 'deletedAt': null }", fields = "{ '_id': 1 }")
+    List<Job> findActiveIdsByIdIn(Collection<String> ids);
+
+    Page<Job> findByDeletedAtIsNull(Pageable pageable);
+
+    // Đánh dấu xóa trong 1 lệnh ghi; 0 = không tồn tại hoặc đã bị xóa trước đó
+    @Query("{ '_id': ?0, 'deletedAt': null }")
+    @Update("{ '$set': { 'deletedAt': ?1, 'updatedAt': ?1 } }")
+    long markDeleted(String id, Instant deletedAt);
+
+    // Lô tombstone tiếp theo cần dọn (cũ nhất trước)
+    @Query(value = "{ 'deletedAt': { '$ne': null }, 'sweptAt': null }", fields = "{ '_id': 1 }", sort = "{ 'deletedAt': 1 }")
+    List<Job> findTombstones(Pageable pageable);
+
+    // Export incremental: Job bị xóa từ mốc này (chỉ _id + deletedAt, deletedAt tăng dần), phải đóng Stream sau khi dùng
+    @Query(value = "{ 'deletedAt': { '$gte': ?0 } }", fields = "{ '_id': 1, 'deletedAt': 1 }", sort = "{ 'deletedAt': 1, '_id': 1 }")
+    Stream<Job> streamDeletedSince(Instant since);
+
+    // Job trong danh sách vẫn OPEN và đã quá deadline (điều kiện lặp lại ở closeExpired để không đóng nhầm
+    // Job vừa được gia hạn giữa 2 lệnh)
+    @Query(value = "{ '_id': { '$in': ?0 }, 'status': 'OPEN', 'deadline': { '$lte': ?1 } }", fields = "{ '_id': 1 }")
+    List<Job> findExpired(Collection<String> ids, Instant now);
+
+    // 1 lệnh updateMany cho cả lô
+    @Query("{ '_id': { '$in': ?0 }, 'status': 'OPEN', 'deadline': { '$lte': ?1 } }")
+    @Update("{ '$set': { 'status': 'CLOSED', 'updatedAt': ?1 } }")
+    long closeExpired(Collection<String> ids, Instant now);
 }
\ No newline at end of file
@@ -1,11 +1,47 @@
 package com.example.server.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
 
+import com.example.server.dto.JobDtos.JobSearchFacets;
 import com.example.server.dto.JobDtos.JobSearchRequest;
 import com.example.server.model.Job;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.search.JobSearchCursor;
 
 public interface JobRepositoryCustom {
+    // Ghi đè findAllById mặc định: decode bằng JobCodec (hydrate trang kết quả từ Lucene/catalog)
+    List<Job> findAllById(Iterable<String> ids);
+
     Page<Job> searchJobs(JobSearchRequest request, Pageable pageable);
+
+    // Cập nhật có điều kiện (Job chưa bị xóa) chỉ các field thay đổi, trả về bản sau cập nhật.
+    // null: Job không tồn tại hoặc đã bị đánh dấu xóa.
+    Job updateActive(String id, Update update);
+
+    // Keyset pagination: lấy tối đa `limit` Job đứng sau cursor theo (createdAt, _id) giảm dần
+    List<Job> searchJobsAfter(JobSearchRequest request, JobSearchCursor after, int limit);
+
+    long countJobs(JobSearchRequest request);
+
+    // view=summary: chỉ lấy các field của trang danh sách (projection ở MongoDB, không có description)
+    Page<JobSearchDocument> searchJobSummaries(JobSearchRequest request, Pageable pageable);
+
+    List<JobSearchDocument> findSummariesById(Collection<String> ids);
+
+    Page<JobSearchDocument> findSummariesByCompanyId(String companyId, Pageable pageable);
+
+    // Export: cursor duyệt toàn bộ kết quả theo (updatedAt, _id) tăng dần, caller phải close Stream
+    Stream<JobSearchDocument> streamJobs(JobSearchRequest request, Instant updatedSince);
+
+    // Trang kết quả + facet counts (city, category, type, status, salary) trong cùng 1 aggregation
+    FacetedPage searchJobsWithFacets(JobSearchRequest request, Pageable pageable, List<Double> salaryBoundaries);
+
+    record FacetedPage(Page<Job> page, JobSearchFacets facets) {}
 }
\ No newline at end of file
@@ -1,121 +1,429 @@
 package com.example.server.repository;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.bson.Document;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
-import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.util.StringUtils;
-import org.bson.Document;
 
+import com.example.server.dto.JobDtos.FacetBucket;
+import com.example.server.dto.JobDtos.JobSearchFacets;
 import com.example.server.dto.JobDtos.JobSearchRequest;
 import com.example.server.model.Job;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.repository.codec.EntityCodecs;
+import com.example.server.search.JobSearchCursor;
+import com.example.server.search.JobSearchFilters;
+import com.example.server.search.SalaryBands;
+import com.example.server.search.TextNormalizer;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RequiredArgsConstructor
 public class JobRepositoryCustomImpl implements JobRepositoryCustom {
 
+    private static final String SALARY_OTHER_BUCKET = "unknown";
+    private static final int MAX_TERMS_PER_FACET = 50;
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    // Field của trang danh sách (JobSummaryDto) - description (vài KB HTML) không bao giờ rời MongoDB
+    private static final String[] SUMMARY_FIELDS = {
+        "title", "companyId", "city", "employmentType", "salaryMin", "salaryMax",
+        "tags", "status", "deadline", "createdAt"
+    };
+
     private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final EntityCodecs entityCodecs;
 
     @Override
-    public Page<Job> searchJobs(JobSearchRequest request, Pageable pageable) {
-        List<AggregationOperation> operations = new ArrayList<>();
+    public List<Job> findAllById(Iterable<String> ids) {
+        return entityCodecs.findAllById(ids, Job.class);
+    }
+
+    // $set có điều kiện thay vì save() cả document: không hồi sinh Job vừa bị xóa (deletedAt)
+    // và không ghi đè viewCount đang được JobViewCounter cộng dồn bằng $inc
+    @Override
+    public Job updateActive(String id, Update update) {
+        Query query = new Query(Criteria.where("_id").is(id).and("deletedAt").is(null));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Job.class);
+    }
 
-        // 1. Convert _id (ObjectId) to String để join với jobId (String) trong Location/Category
-        // Mentor Note: Fix lỗi Lookup không khớp do lệch kiểu dữ liệu (ObjectId vs String)
-        operations.add(Aggregation.addFields()
-            .addField("jobIdStr").withValue(ConvertOperators.ToString.toString("$_id"))
-            .build());
+    @Override
+    public Page<Job> searchJobs(JobSearchRequest request, Pageable pageable) {
+        // Mentor Note: Query thẳng vào read model "job_search" (đã có sẵn city/categoryName),
+        // không còn $toString + 2x $lookup trên toàn bộ collection "jobs" trước khi $match.
+        // Company/Location/Category chỉ được hydrate cho đúng trang kết quả (JobServiceImpl.toDtoPage).
+        Plan plan = plan(request);
+        return execute(plan, () -> {
+            Query query = new Query(buildCriteria(request));
 
-        // 2. Lookup Relations (Left Outer Join) sử dụng jobIdStr
-        // "locations" và "categories" là tên collection trong MongoDB
-        operations.add(Aggregation.lookup("locations", "jobIdStr", "jobId", "locationInfo"));
-        operations.add(Aggregation.lookup("categories", "jobIdStr", "jobId", "categoryInfo"));
+            // 1. Lấy dữ liệu trang hiện tại
+            // Các field native của read model trùng tên với Job nên đọc thẳng thành Job (JobCodec, bỏ qua field thừa)
+            List<Job> jobs = entityCodecs.find(pageQuery(request, pageable),
+                    Job.class, mongoTemplate.getCollectionName(JobSearchDocument.class));
 
-        // 3. Build Criteria
-        List<Criteria> criteriaList = new ArrayList<>();
+            // 2. Đếm tổng - bỏ qua khi suy ra được từ trang (trang đầu chưa đầy / trang cuối)
+            return PageableExecutionUtils.getPage(jobs, pageable, () -> count(plan, query));
+        });
+    }
 
-        // Keyword Search (Title or Description)
-        if (StringUtils.hasText(request.keyword())) {
-            criteriaList.add(new Criteria().orOperator(
-                Criteria.where("title").regex(request.keyword(), "i"), // "i" for case-insensitive
-                Criteria.where("description").regex(request.keyword(), "i")
+    @Override
+    public List<Job> searchJobsAfter(JobSearchRequest request, JobSearchCursor after, int limit) {
+        Criteria criteria = buildCriteria(request);
+        if (after != null) {
+            // Seek bằng range predicate trên index (createdAt, _id) thay vì $skip
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                Criteria.where("createdAt").lt(after.createdAt()),
+                new Criteria().andOperator(
+                    Criteria.where("createdAt").is(after.createdAt()),
+                    Criteria.where("id").lt(after.id())
+                )
             ));
         }
 
-        // Filter by Location City (via Lookup result 'locationInfo')
-        if (StringUtils.hasText(request.locationCity())) {
-            criteriaList.add(Criteria.where("locationInfo").elemMatch(
-                Criteria.where("city").regex(request.locationCity(), "i")
-            ));
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(limit);
+        return execute(plan(request), () ->
+                entityCodecs.find(query, Job.class, mongoTemplate.getCollectionName(JobSearchDocument.class)));
+    }
+
+    @Override
+    public long countJobs(JobSearchRequest request) {
+        Plan plan = plan(request);
+        return execute(plan, () -> count(plan, new Query(buildCriteria(request))));
+    }
+
+    @Override
+    public Page<JobSearchDocument> searchJobSummaries(JobSearchRequest request, Pageable pageable) {
+        Plan plan = plan(request);
+        return execute(plan, () -> {
+            Query query = new Query(buildCriteria(request));
+            Query page = pageQuery(request, pageable);
+            page.fields().include(SUMMARY_FIELDS);
+            List<JobSearchDocument> summaries = mongoTemplate.find(page, JobSearchDocument.class);
+            return PageableExecutionUtils.getPage(summaries, pageable, () -> count(plan, query));
+        });
+    }
+
+    @Override
+    public List<JobSearchDocument> findSummariesById(Collection<String> ids) {
+        if (ids.isEmpty()) return List.of();
+        Query query = new Query(Criteria.where("id").in(ids));
+        query.fields().include(SUMMARY_FIELDS);
+        return mongoTemplate.find(query, JobSearchDocument.class);
+    }
+
+    @Override
+    public Page<JobSearchDocument> findSummariesByCompanyId(String companyId, Pageable pageable) {
+        // Index companyId trên read model
+        Query query = new Query(Criteria.where("companyId").is(companyId));
+        List<JobSearchDocument> summaries = mongoTemplate.find(summaryQuery(query, pageable), JobSearchDocument.class);
+        return PageableExecutionUtils.getPage(summaries, pageable, () -> mongoTemplate.count(query, JobSearchDocument.class));
+    }
+
+    /**
+     * Query lấy 1 trang kết quả search.
+     * Có lọc bán kính: $nearSphere trên 2dsphere index - MongoDB trả về theo khoảng cách tăng dần
+     * (sort của pageable bị bỏ qua). $nearSphere phải nằm ở top-level nên không đi qua and().
+     */
+    private Query pageQuery(JobSearchRequest request, Pageable pageable) {
+        if (JobSearchFilters.hasGeo(request)) {
+            return new Query(and(List.of(baseCriteria(request, false), facetCriteria(request, null))))
+                    .addCriteria(Criteria.where("position")
+                            .nearSphere(new GeoJsonPoint(request.lon(), request.lat()))
+                            .maxDistance(JobSearchFilters.radiusKm(request) * 1000))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize());
         }
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "createdAt");
+        return new Query(buildCriteria(request)).with(sort).skip(pageable.getOffset()).limit(pageable.getPageSize());
+    }
 
-        // Filter by Category Name (via Lookup result 'categoryInfo')
-        if (StringUtils.hasText(request.categoryName())) {
-            criteriaList.add(Criteria.where("categoryInfo").elemMatch(
-                Criteria.where("name").regex(request.categoryName(), "i")
-            ));
+    private Query summaryQuery(Query query, Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "createdAt");
+        Query page = Query.of(query).with(sort).skip(pageable.getOffset()).limit(pageable.getPageSize());
+        page.fields().include(SUMMARY_FIELDS);
+        return page;
+    }
+
+    @Override
+    public Stream<JobSearchDocument> streamJobs(JobSearchRequest request, Instant updatedSince) {
+        // Mentor Note: 1 cursor duy nhất thay vì hàng nghìn request skip/limit + count.
+        // Driver chỉ giữ 1 batch trong bộ nhớ và chỉ getMore khi caller đọc tiếp.
+        Criteria criteria = buildCriteria(request);
+        if (updatedSince != null) {
+            criteria = and(List.of(criteria, Criteria.where("updatedAt").gte(updatedSince)));
         }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "updatedAt", "id"))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+        return mongoTemplate.stream(query, JobSearchDocument.class);
+    }
 
-        // Native Job Filters
-        if (request.jobType() != null) {
-            criteriaList.add(Criteria.where("employmentType").is(request.jobType()));
+    @Override
+    public FacetedPage searchJobsWithFacets(JobSearchRequest request, Pageable pageable, List<Double> salaryBoundaries) {
+        // Mentor Note: 1 aggregation duy nhất. Filter không được facet (keyword, kinh nghiệm) $match trước,
+        // mỗi nhánh của $facet tự $match các filter còn lại - trừ filter của chính facet đó,
+        // để "Hà Nội (1,203)" vẫn hiện đúng số lượng khi user đang lọc "HCM".
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "createdAt");
+        Criteria all = facetCriteria(request, null);
+
+        // Bucket cuối không có cận trên: thêm boundary "vô cực" để không rơi vào default bucket
+        List<Double> boundaries = new ArrayList<>(salaryBoundaries);
+        boundaries.add(Double.MAX_VALUE);
+
+        FacetOperation facets = Aggregation.facet(
+                Aggregation.match(all),
+                Aggregation.sort(sort),
+                Aggregation.skip(pageable.getOffset()),
+                Aggregation.limit(pageable.getPageSize())
+            ).as("data")
+            .and(Aggregation.match(all), Aggregation.count().as("total")).as("metadata")
+            .and(termsFacet(request, Facet.CITY)).as(Facet.CITY.field)
+            .and(termsFacet(request, Facet.CATEGORY)).as(Facet.CATEGORY.field)
+            .and(termsFacet(request, Facet.EMPLOYMENT_TYPE)).as(Facet.EMPLOYMENT_TYPE.field)
+            .and(termsFacet(request, Facet.STATUS)).as(Facet.STATUS.field)
+            .and(
+                Aggregation.match(facetCriteria(request, Facet.SALARY)),
+                Aggregation.bucket("salaryMin")
+                    .withBoundaries(boundaries.toArray())
+                    .withDefaultBucket(SALARY_OTHER_BUCKET)
+                    .andOutputCount().as("count")
+            ).as(Facet.SALARY.field);
+
+        TypedAggregation<JobSearchDocument> aggregation = Aggregation.newAggregation(
+            JobSearchDocument.class,
+            Aggregation.match(baseCriteria(request, true)),
+            facets
+        );
+        Document result = execute(Plan.FACETED,
+            () -> mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult());
+        if (result == null) {
+            return new FacetedPage(Page.empty(pageable), new JobSearchFacets(List.of(), List.of(), List.of(), List.of(), List.of()));
         }
-        if (request.status() != null) {
-            criteriaList.add(Criteria.where("status").is(request.status()));
+
+        List<Document> metadata = result.getList("metadata", Document.class);
+        long total = metadata.isEmpty() ? 0 : ((Number) metadata.get(0).get("total")).longValue();
+        List<Job> jobs = result.getList("data", Document.class).stream()
+            .map(doc -> mongoTemplate.getConverter().read(Job.class, doc))
+            .toList();
+
+        JobSearchFacets jobFacets = new JobSearchFacets(
+            toBuckets(result.getList(Facet.CITY.field, Document.class)),
+            toBuckets(result.getList(Facet.CATEGORY.field, Document.class)),
+            toBuckets(result.getList(Facet.EMPLOYMENT_TYPE.field, Document.class)),
+            toBuckets(result.getList(Facet.STATUS.field, Document.class)),
+            toSalaryBuckets(result.getList(Facet.SALARY.field, Document.class), boundaries)
+        );
+        return new FacetedPage(new PageImpl<>(jobs, pageable, total), jobFacets);
+    }
+
+    // --- Planner ---
+
+    /**
+     * Hình dạng query được chọn cho 1 request (rule-based, dựa trên các filter có mặt).
+     * Mentor Note: Tag "plan" của metric job.search.mongo cho biết traffic nào còn đang phải quét nhiều.
+     */
+    private enum Plan {
+        UNFILTERED("unfiltered"), // Không filter: đọc theo index createdAt, tổng = estimatedCount (metadata)
+        INDEXED("indexed"),       // Mọi filter đều có index: status/type/salary band/tags/prefix không dấu
+        RESIDUAL("residual"),     // Có filter không có index (minExperience): index thu hẹp, Mongo lọc nốt
+        FACETED("faceted");       // 1 aggregation $match -> $facet (kết quả + đếm theo facet)
+
+        private final String tag;
+
+        Plan(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private Plan plan(JobSearchRequest request) {
+        if (request.minExperience() != null) return Plan.RESIDUAL;
+        boolean indexedFilter = StringUtils.hasText(request.keyword())
+                || StringUtils.hasText(request.locationCity())
+                || StringUtils.hasText(request.categoryName())
+                || request.status() != null
+                || request.jobType() != null
+                || request.minSalary() != null
+                || request.maxSalary() != null
+                || !JobSearchFilters.tags(request).isEmpty()
+                || JobSearchFilters.hasGeo(request);
+        return indexedFilter ? Plan.INDEXED : Plan.UNFILTERED;
+    }
+
+    private long count(Plan plan, Query query) {
+        return plan == Plan.UNFILTERED
+                ? mongoTemplate.estimatedCount(JobSearchDocument.class)
+                : mongoTemplate.count(query, JobSearchDocument.class);
+    }
+
+    private <T> T execute(Plan plan, Supplier<T> query) {
+        log.debug("Job search plan: {}", plan);
+        return meterRegistry.timer("job.search.mongo", "plan", plan.tag).record(query);
+    }
+
+    // --- Facets ---
+
+    private enum Facet {
+        CITY("city"),
+        CATEGORY("categoryName"),
+        EMPLOYMENT_TYPE("employmentType"),
+        STATUS("status"),
+        SALARY("salary");
+
+        private final String field;
+
+        Facet(String field) {
+            this.field = field;
         }
-        if (request.minSalary() != null) {
-            criteriaList.add(Criteria.where("salaryMax").gte(request.minSalary()));
+    }
+
+    private AggregationOperation[] termsFacet(JobSearchRequest request, Facet facet) {
+        return new AggregationOperation[] {
+            Aggregation.match(facetCriteria(request, facet)),
+            Aggregation.match(Criteria.where(facet.field).ne(null)),
+            Aggregation.group(facet.field).count().as("count"),
+            Aggregation.sort(Sort.by(Sort.Direction.DESC, "count")),
+            Aggregation.limit(MAX_TERMS_PER_FACET)
+        };
+    }
+
+    private List<FacetBucket> toBuckets(List<Document> docs) {
+        return docs.stream()
+            .map(doc -> new FacetBucket(String.valueOf(doc.get("_id")), ((Number) doc.get("count")).longValue()))
+            .toList();
+    }
+
+    // Bucket label: "min-max" theo boundaries, bucket cuối là "min+", không có lương -> "unknown"
+    private List<FacetBucket> toSalaryBuckets(List<Document> docs, List<Double> boundaries) {
+        List<FacetBucket> buckets = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
+            Object id = doc.get("_id");
+            long count = ((Number) doc.get("count")).longValue();
+            if (!(id instanceof Number lower)) {
+                buckets.add(new FacetBucket(SALARY_OTHER_BUCKET, count));
+                continue;
+            }
+            double upper = boundaries.get(boundaries.indexOf(lower.doubleValue()) + 1);
+            String label = upper == Double.MAX_VALUE
+                ? formatAmount(lower.doubleValue()) + "+"
+                : formatAmount(lower.doubleValue()) + "-" + formatAmount(upper);
+            buckets.add(new FacetBucket(label, count));
         }
-        if (request.maxSalary() != null) {
-            criteriaList.add(Criteria.where("salaryMin").lte(request.maxSalary()));
+        return buckets;
+    }
+
+    private String formatAmount(double amount) {
+        return amount == Math.rint(amount) ? String.valueOf((long) amount) : String.valueOf(amount);
+    }
+
+    // --- Criteria ---
+
+    private Criteria buildCriteria(JobSearchRequest request) {
+        return and(List.of(baseCriteria(request, true), facetCriteria(request, null)));
+    }
+
+    /**
+     * Filter không có facet tương ứng: keyword, số năm kinh nghiệm, tags, bán kính ($geoWithin nếu withGeo).
+     */
+    private Criteria baseCriteria(JobSearchRequest request, boolean withGeo) {
+        List<Criteria> criteriaList = new ArrayList<>();
+
+        // Bán kính: $centerSphere (radian = km / bán kính Trái Đất) dùng được trong count/$match/$facet
+        if (withGeo && JobSearchFilters.hasGeo(request)) {
+            criteriaList.add(Criteria.where("position").withinSphere(new Circle(
+                new Point(request.lon(), request.lat()),
+                JobSearchFilters.radiusKm(request) / JobSearchFilters.EARTH_RADIUS_KM)));
         }
+
         if (request.minExperience() != null) {
             criteriaList.add(Criteria.where("minExperience").lte(request.minExperience()));
         }
 
-        // Apply Match
-        if (!criteriaList.isEmpty()) {
-            operations.add(Aggregation.match(new Criteria().andOperator(criteriaList)));
+        // Keyword Search: title bắt đầu bằng keyword (không dấu), dùng index titleFolded
+        // Mentor Note: Tìm "chứa từ" trong title/description là việc của Lucene (JobLuceneIndex);
+        // nhánh MongoDB chỉ còn dùng khi Lucene chưa sẵn sàng / sort khác createdAt / facets.
+        if (StringUtils.hasText(request.keyword())) {
+            criteriaList.add(Criteria.where("titleFolded").regex(TextNormalizer.prefixRegex(request.keyword())));
         }
 
-        // 3. Pagination Support (Facet: Count & Data)
-        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "createdAt");
-        operations.add(Aggregation.sort(sort));
+        // Tag filter: multikey index trên tagsFolded
+        List<String> tags = JobSearchFilters.tags(request);
+        if (!tags.isEmpty()) {
+            criteriaList.add(JobSearchFilters.matchAnyTag(request)
+                ? Criteria.where("tagsFolded").in(tags)
+                : Criteria.where("tagsFolded").all(tags));
+        }
 
-        operations.add(Aggregation.facet()
-            .and(Aggregation.skip(pageable.getOffset()), Aggregation.limit(pageable.getPageSize()))
-            .as("data")
-            .and(Aggregation.count().as("total"))
-            .as("metadata")
-        );
+        return and(criteriaList);
+    }
+
+    /**
+     * Filter có facet tương ứng, bỏ qua filter của facet `excluded` (null = áp dụng tất cả).
+     */
+    private Criteria facetCriteria(JobSearchRequest request, Facet excluded) {
+        List<Criteria> criteriaList = new ArrayList<>();
 
-        // Execute Aggregation
-        Aggregation aggregation = Aggregation.newAggregation(operations);
-        AggregationResults<Document> results = mongoTemplate.aggregate(aggregation, "jobs", Document.class);
-        
-        Document resultDoc = results.getUniqueMappedResult();
-        if (resultDoc == null) return Page.empty(pageable);
+        // Native Job Filters (có index trên job_search)
+        if (request.status() != null && excluded != Facet.STATUS) {
+            criteriaList.add(Criteria.where("status").is(request.status()));
+        }
+        if (request.jobType() != null && excluded != Facet.EMPLOYMENT_TYPE) {
+            criteriaList.add(Criteria.where("employmentType").is(request.jobType()));
+        }
+        if (excluded != Facet.SALARY) {
+            // Band trước (index status_type_salaryBands), so sánh chính xác sau trên tập ứng viên
+            if (request.minSalary() != null || request.maxSalary() != null) {
+                criteriaList.add(Criteria.where("salaryBands")
+                    .in(SalaryBands.bandsOverlapping(request.minSalary(), request.maxSalary())));
+            }
+            if (request.minSalary() != null) {
+                criteriaList.add(Criteria.where("salaryMax").gte(request.minSalary()));
+            }
+            if (request.maxSalary() != null) {
+                criteriaList.add(Criteria.where("salaryMin").lte(request.maxSalary()));
+            }
+        }
 
-        List<Document> data = (List<Document>) resultDoc.get("data");
-        List<Document> metadata = (List<Document>) resultDoc.get("metadata");
-        
-        long total = metadata.isEmpty() ? 0 : ((Number) metadata.get(0).get("total")).longValue();
-        
-        // Map Document back to Job Entity
-        List<Job> jobs = data.stream()
-            .map(doc -> mongoTemplate.getConverter().read(Job.class, doc))
-            .toList();
+        // Filter by Location City / Category Name (đã denormalize vào read model)
+        // Prefix không dấu ("ha noi" khớp "Hà Nội") trên shadow field có index
+        if (StringUtils.hasText(request.locationCity()) && excluded != Facet.CITY) {
+            criteriaList.add(Criteria.where("cityFolded").regex(TextNormalizer.prefixRegex(request.locationCity())));
+        }
+        if (StringUtils.hasText(request.categoryName()) && excluded != Facet.CATEGORY) {
+            criteriaList.add(Criteria.where("categoryNameFolded").regex(TextNormalizer.prefixRegex(request.categoryName())));
+        }
+
+        return and(criteriaList);
+    }
 
-        return new PageImpl<>(jobs, pageable, total);
+    private Criteria and(List<Criteria> criteriaList) {
+        return criteriaList.isEmpty() ? new Criteria() : new Criteria().andOperator(criteriaList);
     }
-}
\ No newline at end of file
+}
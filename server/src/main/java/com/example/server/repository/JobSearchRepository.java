@@ -0,0 +1,42 @@
+package com.example.server.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+
+@Repository
+public interface JobSearchRepository extends MongoRepository<JobSearchDocument, String> {
+
+    // Duyệt toàn bộ read model bằng cursor (không load hết vào RAM) - dùng để build index in-memory
+    // Theo thứ tự (createdAt, _id) tăng dần để index có thể append theo đúng thứ tự thời gian
+    // Lưu ý: Stream phải được đóng sau khi dùng (try-with-resources)
+    @Query(value = "{}", sort = "{ 'createdAt': 1, '_id': 1 }")
+    Stream<JobSearchDocument> streamAll();
+
+    // Chỉ _id của toàn bộ read model (dọn document thừa sau rebuild), phải đóng Stream sau khi dùng
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    Stream<JobSearchDocument> streamAllIds();
+
+    // Còn document chưa có shadow field không dấu (dữ liệu cũ trước khi thêm field) -> cần rebuild
+    boolean existsByTitleFoldedIsNullAndTitleIsNotNull();
+
+    boolean existsByTagsFoldedIsNullAndTagsIsNotNull();
+
+    boolean existsBySalaryBandsIsNull();
+
+    // Xóa và trả về document vừa xóa trong 1 round trip (findAndRemove), null nếu không tồn tại
+    JobSearchDocument removeById(String id);
+
+    // Đổi status hàng loạt (updateMany) - ví dụ đóng các Job hết hạn
+    @Query("{ '_id': { '$in': ?0 } }")
+    @Update("{ '$set': { 'status': ?1, 'updatedAt': ?2 } }")
+    long updateStatusByIdIn(Collection<String> ids, JobStatus status, Instant updatedAt);
+}
@@ -0,0 +1,17 @@
+package com.example.server.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.server.model.JobSignature;
+
+@Repository
+public interface JobSignatureRepository extends MongoRepository<JobSignature, String> {
+
+    // Lưu ý: Stream phải được đóng sau khi dùng (try-with-resources)
+    @Query("{}")
+    Stream<JobSignature> streamAll();
+}
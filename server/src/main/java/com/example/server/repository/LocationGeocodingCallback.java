@@ -0,0 +1,107 @@
+package com.example.server.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.Location;
+import com.example.server.search.VietnamGeocoder;
+import com.example.server.search.VietnamGeocoder.Coordinates;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Giữ Location.latitude/longitude luôn khớp với city/address (geocode offline bằng VietnamGeocoder).
+ * Mentor Note: Cùng cách làm với FoldedFieldCallback - tính lại ở mỗi lần ghi nên đổi địa chỉ
+ * là tọa độ đổi theo; dữ liệu cũ được backfill 1 lần lúc khởi động.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationGeocodingCallback implements BeforeConvertCallback<Location> {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    // MongoTemplate -> MappingMongoConverter nạp mọi EntityCallback lúc khởi tạo: inject thẳng sẽ tạo vòng
+    // phụ thuộc, chỉ lấy template khi backfill chạy (ApplicationReadyEvent)
+    private final ObjectProvider<MongoTemplate> mongoTemplateProvider;
+    private final VietnamGeocoder geocoder;
+
+    @Override
+    public Location onBeforeConvert(Location location, String collection) {
+        Coordinates coordinates = geocoder.geocode(location.getCity(), location.getAddress()).orElse(null);
+        location.setLatitude(coordinates != null ? coordinates.latitude() : null);
+        location.setLongitude(coordinates != null ? coordinates.longitude() : null);
+        return location;
+    }
+
+    /**
+     * Chạy trước JobSearchIndexer.initialize() để các index in-memory nạp read model đã có tọa độ.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        MongoTemplate mongoTemplate = mongoTemplateProvider.getObject();
+        Query query = new Query(Criteria.where("latitude").isNull().and("city").ne(null));
+        query.fields().include("city", "address", "jobId");
+
+        long updated = 0;
+        List<Document> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Location.class))) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                batch.add(document);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    updated += flush(batch);
+                }
+            }
+        }
+        updated += flush(batch);
+        if (updated > 0) log.info("Geocoded {} locations", updated);
+    }
+
+    private int flush(List<Document> batch) {
+        if (batch.isEmpty()) return 0;
+        MongoTemplate mongoTemplate = mongoTemplateProvider.getObject();
+        BulkOperations locations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Location.class);
+        BulkOperations readModel = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobSearchDocument.class);
+        int queued = 0;
+        for (Document document : batch) {
+            // Địa chỉ không có trong bảng -> giữ null (thử lại ở lần khởi động sau nếu bảng được bổ sung)
+            Coordinates coordinates = geocoder.geocode(document.getString("city"), document.getString("address")).orElse(null);
+            if (coordinates == null) continue;
+            locations.updateOne(
+                    new Query(Criteria.where("_id").is(document.get("_id"))),
+                    new Update().set("latitude", coordinates.latitude()).set("longitude", coordinates.longitude()));
+            // Đồng bộ luôn read model (job_search._id = jobId) thay vì bắt JobSearchIndexer rebuild toàn bộ
+            Object jobId = document.get("jobId");
+            if (jobId != null) {
+                readModel.updateOne(
+                        new Query(Criteria.where("id").is(jobId.toString())),
+                        new Update().set("position", new GeoJsonPoint(coordinates.longitude(), coordinates.latitude())));
+            }
+            queued++;
+        }
+        batch.clear();
+        if (queued == 0) return 0;
+        int modified = locations.execute().getModifiedCount();
+        readModel.execute();
+        return modified;
+    }
+}
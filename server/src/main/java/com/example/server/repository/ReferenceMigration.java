@@ -0,0 +1,237 @@
+package com.example.server.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.Application;
+import com.example.server.model.Category;
+import com.example.server.model.Company;
+import com.example.server.model.Education;
+import com.example.server.model.Experience;
+import com.example.server.model.Job;
+import com.example.server.model.JobSeekerProfile;
+import com.example.server.model.Location;
+import com.example.server.model.Project;
+import com.example.server.model.Skill;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migration online: chuyển các khóa ngoại đang lưu dạng String sang ObjectId
+ * (cùng kiểu với _id của collection được tham chiếu).
+ * Mentor Note: Model đã khai báo @Field(targetType = OBJECT_ID) nên mọi lần ghi mới đều là ObjectId;
+ * class này chỉ xử lý dữ liệu cũ. Chạy theo lô (bulk update), lưu checkpoint (_id cuối cùng) vào
+ * collection "migrations" nên restart giữa chừng sẽ chạy tiếp thay vì làm lại từ đầu.
+ * Chạy lúc khởi động, trước khi web server nhận request: các finder sinh tự động (findByUserId,
+ * findByProfileId, findByRecruiterId...) ép tham số về ObjectId nên sẽ bỏ sót bản ghi còn lưu String.
+ * Field chưa migrate xong (lỗi / còn String sau MAX_PASSES), các join theo lô dùng findByReference*
+ * (đọc cả 2 kiểu - dual-read).
+ * Khởi động bình thường (mọi field đã "done"): chỉ 1 query đọc checkpoint, không quét collection nào.
+ * Field chưa xong: probe/lô theo {$type: "string"} + regex -> index trên field (nếu có) chỉ phải duyệt
+ * khoảng key kiểu String thay vì toàn bộ.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceMigration implements SmartInitializingSingleton {
+
+    private static final String CHECKPOINT_COLLECTION = "migrations";
+    private static final String CHECKPOINT_PREFIX = "objectid-ref:";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_PASSES = 3;
+    // Chỉ String hợp lệ mới chuyển được; giá trị lạ (nếu có) giữ nguyên để xử lý tay
+    private static final String OBJECT_ID_HEX = "^[0-9a-fA-F]{24}$";
+
+    private record Reference(Class<?> entity, String field) {}
+
+    private static final List<Reference> REFERENCES = List.of(
+        new Reference(Location.class, "jobId"),
+        new Reference(Category.class, "jobId"),
+        new Reference(Application.class, "jobId"),
+        new Reference(Application.class, "jobSeekerId"),
+        new Reference(Job.class, "companyId"),
+        new Reference(Job.class, "postedByUserId"),
+        new Reference(Company.class, "recruiterId"),
+        new Reference(JobSeekerProfile.class, "userId"),
+        new Reference(Skill.class, "profileId"),
+        new Reference(Education.class, "profileId"),
+        new Reference(Experience.class, "profileId"),
+        new Reference(Project.class, "profileId")
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    // "collection.field" đã migrate xong -> đọc thẳng bằng ObjectId
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Gọi sau khi mọi singleton đã khởi tạo nhưng trước khi context start các lifecycle bean
+     * (trong đó có web server) -> request đầu tiên đã thấy dữ liệu ObjectId.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        migrate();
+        log.info("ObjectId reference migration checked in {} ms", System.currentTimeMillis() - start);
+    }
+
+    public void migrate() {
+        // Toàn bộ checkpoint trong 1 query (prefix của _id, dùng index _id)
+        Map<String, Document> checkpoints = new HashMap<>();
+        try {
+            mongoTemplate.find(new Query(Criteria.where("_id").regex("^" + CHECKPOINT_PREFIX)), Document.class, CHECKPOINT_COLLECTION)
+                    .forEach(checkpoint -> checkpoints.put(checkpoint.getString("_id"), checkpoint));
+        } catch (RuntimeException e) {
+            // Không đọc được checkpoint: giữ dual-read cho mọi field, lần khởi động sau thử lại
+            log.error("Failed to load ObjectId migration checkpoints", e);
+            return;
+        }
+
+        for (Reference reference : REFERENCES) {
+            try {
+                migrate(reference, checkpoints.get(CHECKPOINT_PREFIX + key(reference.entity(), reference.field())));
+            } catch (RuntimeException e) {
+                // Lỗi 1 field không chặn các field khác; lần khởi động sau chạy tiếp từ checkpoint
+                log.error("Migration of {}.{} to ObjectId failed", reference.entity().getSimpleName(), reference.field(), e);
+            }
+        }
+    }
+
+    public boolean isComplete(Class<?> entity, String field) {
+        return completed.contains(key(entity, field));
+    }
+
+    /**
+     * Tìm theo khóa ngoại với danh sách ID (join theo lô).
+     * Chưa migrate xong: query raw $in [ObjectId, String] (không qua mapping - mapping sẽ ép mọi giá trị về ObjectId).
+     */
+    public <T> List<T> findByReferenceIn(Class<T> entity, String field, Collection<String> ids) {
+        if (ids.isEmpty()) return List.of();
+        if (isComplete(entity, field)) {
+            return mongoTemplate.find(new Query(Criteria.where(field).in(ids)), entity);
+        }
+
+        List<Object> values = new ArrayList<>(ids.size() * 2);
+        for (String id : ids) {
+            values.add(id);
+            if (ObjectId.isValid(id)) values.add(new ObjectId(id));
+        }
+        String collection = mongoTemplate.getCollectionName(entity);
+        return mongoTemplate.find(new Query(Criteria.where(field).in(values)), Document.class, collection).stream()
+                .map(document -> mongoTemplate.getConverter().read(entity, document))
+                .toList();
+    }
+
+    /**
+     * Xóa theo khóa ngoại với danh sách ID (1 lệnh deleteMany), cùng quy tắc dual-read như findByReferenceIn.
+     */
+    public long removeByReferenceIn(Class<?> entity, String field, Collection<String> ids) {
+        if (ids.isEmpty()) return 0;
+        if (isComplete(entity, field)) {
+            return mongoTemplate.remove(new Query(Criteria.where(field).in(ids)), entity).getDeletedCount();
+        }
+
+        List<Object> values = new ArrayList<>(ids.size() * 2);
+        for (String id : ids) {
+            values.add(id);
+            if (ObjectId.isValid(id)) values.add(new ObjectId(id));
+        }
+        return mongoTemplate.remove(new Query(Criteria.where(field).in(values)), mongoTemplate.getCollectionName(entity))
+                .getDeletedCount();
+    }
+
+    public <T> Optional<T> findOneByReference(Class<T> entity, String field, String id) {
+        return findByReferenceIn(entity, field, List.of(id)).stream().findFirst();
+    }
+
+    private void migrate(Reference reference, Document checkpoint) {
+        String collection = mongoTemplate.getCollectionName(reference.entity());
+        String field = reference.field();
+        String checkpointId = CHECKPOINT_PREFIX + key(reference.entity(), field);
+
+        if (checkpoint != null && checkpoint.getBoolean("done", false)) {
+            completed.add(key(reference.entity(), field));
+            return;
+        }
+
+        Object lastId = checkpoint != null ? checkpoint.get("lastId") : null;
+        long migrated = checkpoint != null ? ((Number) checkpoint.get("migrated", 0L)).longValue() : 0L;
+
+        // Nhiều pass: bản ghi cũ có thể bị instance chưa deploy ghi lại dạng String sau khi đã quét qua
+        boolean pending = hasStringReferences(collection, field);
+        for (int pass = 0; pass < MAX_PASSES && pending; pass++) {
+            while (true) {
+                Query batchQuery = new Query(stringReferences(field))
+                        .with(Sort.by("_id"))
+                        .limit(BATCH_SIZE);
+                if (lastId != null) batchQuery.addCriteria(Criteria.where("_id").gt(lastId));
+                batchQuery.fields().include(field);
+
+                List<Document> batch = mongoTemplate.find(batchQuery, Document.class, collection);
+                if (batch.isEmpty()) break;
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                for (Document document : batch) {
+                    String value = document.getString(field);
+                    // Điều kiện field = value: không ghi đè nếu bản ghi vừa được cập nhật song song
+                    bulk.updateOne(
+                            new Query(Criteria.where("_id").is(document.get("_id")).and(field).is(value)),
+                            new Update().set(field, new ObjectId(value)));
+                }
+                migrated += bulk.execute().getModifiedCount();
+                lastId = batch.get(batch.size() - 1).get("_id");
+                saveCheckpoint(checkpointId, lastId, migrated, false);
+            }
+            lastId = null;
+            pending = hasStringReferences(collection, field);
+        }
+
+        if (pending) {
+            log.warn("{}.{} still has String references after {} passes, will resume on next start",
+                    collection, field, MAX_PASSES);
+            return;
+        }
+        saveCheckpoint(checkpointId, null, migrated, true);
+        completed.add(key(reference.entity(), field));
+        if (migrated > 0) log.info("Migrated {}.{} to ObjectId ({} documents)", collection, field, migrated);
+    }
+
+    private boolean hasStringReferences(String collection, String field) {
+        return mongoTemplate.exists(new Query(stringReferences(field)), collection);
+    }
+
+    private static Criteria stringReferences(String field) {
+        return Criteria.where(field).type(JsonSchemaObject.Type.STRING).regex(OBJECT_ID_HEX);
+    }
+
+    private void saveCheckpoint(String checkpointId, Object lastId, long migrated, boolean done) {
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(checkpointId)),
+                new Update().set("lastId", lastId).set("migrated", migrated).set("done", done).set("updatedAt", Instant.now()),
+                CHECKPOINT_COLLECTION);
+    }
+
+    private String key(Class<?> entity, String field) {
+        return mongoTemplate.getCollectionName(entity) + "." + field;
+    }
+}
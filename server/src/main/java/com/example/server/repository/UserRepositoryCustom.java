@@ -1,5 +1,7 @@
 package com.example.server.repository;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,6 +13,9 @@ import com.example.server.model.UserStatus;
  * Giúp mở rộng khả năng của Spring Data MongoDB (Dynamic Query).
  */
 public interface UserRepositoryCustom {
+    // Ghi đè findAllById mặc định: decode bằng UserCodec (join theo lô ở Application/Chat)
+    List<User> findAllById(Iterable<String> ids);
+
     Page<User> searchUsers(String keyword, Pageable pageable);
     User updateStatus(String id, UserStatus status);
 }
\ No newline at end of file
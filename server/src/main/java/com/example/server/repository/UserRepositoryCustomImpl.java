@@ -15,6 +15,7 @@ import org.springframework.util.StringUtils;
 
 import com.example.server.model.User;
 import com.example.server.model.UserStatus;
+import com.example.server.repository.codec.EntityCodecs;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +27,12 @@ import lombok.RequiredArgsConstructor;
 public class UserRepositoryCustomImpl implements UserRepositoryCustom {
 
     private final MongoTemplate mongoTemplate;
+    private final EntityCodecs entityCodecs;
+
+    @Override
+    public List<User> findAllById(Iterable<String> ids) {
+        return entityCodecs.findAllById(ids, User.class);
+    }
 
     @Override
     public Page<User> searchUsers(String keyword, Pageable pageable) {
@@ -43,7 +50,7 @@ public class UserRepositoryCustomImpl implements UserRepositoryCustom {
         long total = mongoTemplate.count(query, User.class);
         
         query.with(pageable);
-        List<User> users = mongoTemplate.find(query, User.class);
+        List<User> users = entityCodecs.find(query, User.class);
 
         return new PageImpl<>(users, pageable, total);
     }
@@ -0,0 +1,54 @@
+package com.example.server.repository.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+
+import com.example.server.model.Application;
+import com.example.server.model.ApplicationStatus;
+
+public class ApplicationCodec extends EntityCodec<Application> {
+
+    @Override
+    public Class<Application> getEncoderClass() {
+        return Application.class;
+    }
+
+    @Override
+    protected Application newInstance() {
+        return new Application();
+    }
+
+    @Override
+    protected String idOf(Application value) {
+        return value.getId();
+    }
+
+    @Override
+    protected boolean readField(String name, BsonReader reader, Application application) {
+        switch (name) {
+            case "_id" -> application.setId(readId(reader));
+            case "jobId" -> application.setJobId(readId(reader));
+            case "jobSeekerId" -> application.setJobSeekerId(readId(reader));
+            case "resumeUrl" -> application.setResumeUrl(readString(reader));
+            case "coverLetter" -> application.setCoverLetter(readString(reader));
+            case "status" -> application.setStatus(readEnum(reader, ApplicationStatus.class));
+            case "appliedAt" -> application.setAppliedAt(readInstant(reader));
+            case "updatedAt" -> application.setUpdatedAt(readInstant(reader));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void writeFields(BsonWriter writer, Application application) {
+        writeId(writer, "jobId", application.getJobId());
+        writeId(writer, "jobSeekerId", application.getJobSeekerId());
+        writeString(writer, "resumeUrl", application.getResumeUrl());
+        writeString(writer, "coverLetter", application.getCoverLetter());
+        writeEnum(writer, "status", application.getStatus());
+        writeInstant(writer, "appliedAt", application.getAppliedAt());
+        writeInstant(writer, "updatedAt", application.getUpdatedAt());
+    }
+}
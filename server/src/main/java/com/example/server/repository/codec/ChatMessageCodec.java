@@ -0,0 +1,52 @@
+package com.example.server.repository.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+
+import com.example.server.model.ChatMessage;
+import com.example.server.model.MessageStatus;
+
+public class ChatMessageCodec extends EntityCodec<ChatMessage> {
+
+    @Override
+    public Class<ChatMessage> getEncoderClass() {
+        return ChatMessage.class;
+    }
+
+    @Override
+    protected ChatMessage newInstance() {
+        return new ChatMessage();
+    }
+
+    @Override
+    protected String idOf(ChatMessage value) {
+        return value.getId();
+    }
+
+    @Override
+    protected boolean readField(String name, BsonReader reader, ChatMessage message) {
+        switch (name) {
+            case "_id" -> message.setId(readId(reader));
+            case "chatId" -> message.setChatId(readString(reader));
+            case "senderId" -> message.setSenderId(readString(reader));
+            case "recipientId" -> message.setRecipientId(readString(reader));
+            case "content" -> message.setContent(readString(reader));
+            case "createdAt" -> message.setCreatedAt(readInstant(reader));
+            case "status" -> message.setStatus(readEnum(reader, MessageStatus.class));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void writeFields(BsonWriter writer, ChatMessage message) {
+        writeString(writer, "chatId", message.getChatId());
+        writeString(writer, "senderId", message.getSenderId());
+        writeString(writer, "recipientId", message.getRecipientId());
+        writeString(writer, "content", message.getContent());
+        writeInstant(writer, "createdAt", message.getCreatedAt());
+        writeEnum(writer, "status", message.getStatus());
+    }
+}
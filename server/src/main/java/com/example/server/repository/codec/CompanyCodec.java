@@ -0,0 +1,66 @@
+package com.example.server.repository.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+
+import com.example.server.model.Company;
+
+public class CompanyCodec extends EntityCodec<Company> {
+
+    @Override
+    public Class<Company> getEncoderClass() {
+        return Company.class;
+    }
+
+    @Override
+    protected Company newInstance() {
+        // Giống Spring Data: dùng no-args constructor, field không có trong document giữ giá trị mặc định
+        return new Company();
+    }
+
+    @Override
+    protected String idOf(Company value) {
+        return value.getId();
+    }
+
+    @Override
+    protected boolean readField(String name, BsonReader reader, Company company) {
+        switch (name) {
+            case "_id" -> company.setId(readId(reader));
+            case "name" -> company.setName(readString(reader));
+            case "industry" -> company.setIndustry(readString(reader));
+            case "scale" -> company.setScale(readString(reader));
+            case "address" -> company.setAddress(readString(reader));
+            case "logoUrl" -> company.setLogoUrl(readString(reader));
+            case "contactEmail" -> company.setContactEmail(readString(reader));
+            case "phone" -> company.setPhone(readString(reader));
+            case "website" -> company.setWebsite(readString(reader));
+            case "description" -> company.setDescription(readString(reader));
+            case "recruiterId" -> company.setRecruiterId(readId(reader));
+            case "isVerified" -> company.setIsVerified(readBoolean(reader));
+            case "createdAt" -> company.setCreatedAt(readInstant(reader));
+            case "updatedAt" -> company.setUpdatedAt(readInstant(reader));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void writeFields(BsonWriter writer, Company company) {
+        writeString(writer, "name", company.getName());
+        writeString(writer, "industry", company.getIndustry());
+        writeString(writer, "scale", company.getScale());
+        writeString(writer, "address", company.getAddress());
+        writeString(writer, "logoUrl", company.getLogoUrl());
+        writeString(writer, "contactEmail", company.getContactEmail());
+        writeString(writer, "phone", company.getPhone());
+        writeString(writer, "website", company.getWebsite());
+        writeString(writer, "description", company.getDescription());
+        writeId(writer, "recruiterId", company.getRecruiterId());
+        writeBoolean(writer, "isVerified", company.getIsVerified());
+        writeInstant(writer, "createdAt", company.getCreatedAt());
+        writeInstant(writer, "updatedAt", company.getUpdatedAt());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.server.repository.codec;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Base class cho các Codec viết tay: đọc thẳng từ BSON stream vào entity,
+ * không qua Document trung gian + reflection như MappingMongoConverter.
+ * Mentor Note: Định dạng phải khớp 100% với cách Spring Data ghi (tên field, enum dạng String,
+ * Instant dạng DATE_TIME, _id/khóa ngoại dạng ObjectId) vì phần ghi vẫn đi qua Spring Data.
+ * Field lạ (_class, field của read model...) được bỏ qua bằng skipValue().
+ */
+abstract class EntityCodec<T> implements Codec<T> {
+
+    /** Entity rỗng để set dần từng field. */
+    protected abstract T newInstance();
+
+    /** Đọc 1 field vào entity; trả về false nếu không biết field này (sẽ bị bỏ qua). */
+    protected abstract boolean readField(String name, BsonReader reader, T target);
+
+    /** Ghi các field (trừ _id và _class). */
+    protected abstract void writeFields(BsonWriter writer, T value);
+
+    protected abstract String idOf(T value);
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        T target = newInstance();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (!readField(name, reader, target)) {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return target;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writeId(writer, "_id", idOf(value));
+        writeFields(writer, value);
+        writer.writeString("_class", getEncoderClass().getName());
+        writer.writeEndDocument();
+    }
+
+    // --- Readers (null-safe: BSON null -> Java null) ---
+
+    /** ObjectId (hoặc String - dữ liệu chưa migrate) -> hex String. */
+    protected static String readId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            case NULL -> readNull(reader);
+            default -> reader.readString();
+        };
+    }
+
+    protected static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) return readNull(reader);
+        return reader.readString();
+    }
+
+    protected static Instant readInstant(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) return readNull(reader);
+        return Instant.ofEpochMilli(reader.readDateTime());
+    }
+
+    protected static Double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DOUBLE -> reader.readDouble();
+            case INT32 -> (double) reader.readInt32();
+            case INT64 -> (double) reader.readInt64();
+            case DECIMAL128 -> reader.readDecimal128().doubleValue();
+            case NULL -> readNull(reader);
+            default -> throw new IllegalStateException("Unexpected BSON type for double: " + reader.getCurrentBsonType());
+        };
+    }
+
+    protected static Integer readInteger(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            case NULL -> readNull(reader);
+            default -> throw new IllegalStateException("Unexpected BSON type for int: " + reader.getCurrentBsonType());
+        };
+    }
+
+    protected static Long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT64 -> reader.readInt64();
+            case INT32 -> (long) reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            case NULL -> readNull(reader);
+            default -> throw new IllegalStateException("Unexpected BSON type for long: " + reader.getCurrentBsonType());
+        };
+    }
+
+    protected static Boolean readBoolean(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) return readNull(reader);
+        return reader.readBoolean();
+    }
+
+    protected static <E extends Enum<E>> E readEnum(BsonReader reader, Class<E> type) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) return readNull(reader);
+        return Enum.valueOf(type, reader.readString());
+    }
+
+    protected static Set<String> readStringSet(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) return readNull(reader);
+        Set<String> values = new LinkedHashSet<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(readString(reader));
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    private static <V> V readNull(BsonReader reader) {
+        reader.readNull();
+        return null;
+    }
+
+    // --- Writers (bỏ qua null giống Spring Data) ---
+
+    protected static void writeId(BsonWriter writer, String name, String value) {
+        if (value == null) return;
+        writer.writeName(name);
+        if (ObjectId.isValid(value)) writer.writeObjectId(new ObjectId(value)); else writer.writeString(value);
+    }
+
+    protected static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) writer.writeString(name, value);
+    }
+
+    protected static void writeInstant(BsonWriter writer, String name, Instant value) {
+        if (value != null) writer.writeDateTime(name, value.toEpochMilli());
+    }
+
+    protected static void writeDouble(BsonWriter writer, String name, Double value) {
+        if (value != null) writer.writeDouble(name, value);
+    }
+
+    protected static void writeInteger(BsonWriter writer, String name, Integer value) {
+        if (value != null) writer.writeInt32(name, value);
+    }
+
+    protected static void writeLong(BsonWriter writer, String name, Long value) {
+        if (value != null) writer.writeInt64(name, value);
+    }
+
+    protected static void writeBoolean(BsonWriter writer, String name, Boolean value) {
+        if (value != null) writer.writeBoolean(name, value);
+    }
+
+    protected static void writeEnum(BsonWriter writer, String name, Enum<?> value) {
+        if (value != null) writer.writeString(name, value.name());
+    }
+
+    protected static void writeStrings(BsonWriter writer, String name, Collection<String> values) {
+        if (values == null) return;
+        writer.writeStartArray(name);
+        values.forEach(writer::writeString);
+        writer.writeEndArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.server.repository.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+
+/**
+ * Đọc entity "nóng" (Job, Application, ChatMessage, User, Company) bằng Codec viết tay.
+ * Mentor Note: MongoTemplate luôn decode BSON -> Document (HashMap) rồi MappingMongoConverter
+ * dùng reflection để copy sang entity. Ở đây driver decode thẳng từ byte trên wire vào entity.
+ * Query/Sort/Aggregation vẫn được map bằng QueryMapper của Spring Data (tên field, enum, ObjectId...)
+ * nên có thể dùng lại nguyên Criteria đang có. Phần ghi vẫn đi qua Spring Data như cũ.
+ */
+@Component
+public class EntityCodecs {
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final CodecRegistry codecRegistry;
+
+    public EntityCodecs(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.codecRegistry = CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(
+                        new JobCodec(), new ApplicationCodec(), new ChatMessageCodec(), new UserCodec(), new CompanyCodec()),
+                MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    public <T> List<T> find(Query query, Class<T> type) {
+        return find(query, type, mongoTemplate.getCollectionName(type));
+    }
+
+    /**
+     * Tương đương mongoTemplate.find(query, type, collection): filter/sort/skip/limit/projection.
+     */
+    public <T> List<T> find(Query query, Class<T> type, String collection) {
+        MongoPersistentEntity<?> entity = persistentEntity(type);
+        FindIterable<T> cursor = collection(collection, type).find(queryMapper.getMappedObject(query.getQueryObject(), entity));
+        if (query.isSorted()) cursor.sort(queryMapper.getMappedSort(query.getSortObject(), entity));
+        if (query.getSkip() > 0) cursor.skip((int) query.getSkip());
+        if (query.isLimited()) cursor.limit(query.getLimit());
+        Document fields = query.getFieldsObject();
+        if (!fields.isEmpty()) cursor.projection(queryMapper.getMappedFields(fields, entity));
+        return cursor.into(new ArrayList<>());
+    }
+
+    public <T> long count(Query query, Class<T> type) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                .countDocuments(queryMapper.getMappedObject(query.getQueryObject(), persistentEntity(type)));
+    }
+
+    /**
+     * Tương đương repository.findAllById (ID hex hợp lệ được so khớp dạng ObjectId giống Spring Data).
+     */
+    public <T> List<T> findAllById(Iterable<String> ids, Class<T> type) {
+        List<Object> values = new ArrayList<>();
+        for (String id : ids) {
+            values.add(ObjectId.isValid(id) ? new ObjectId(id) : id);
+        }
+        if (values.isEmpty()) return List.of();
+        return collection(mongoTemplate.getCollectionName(type), type)
+                .find(Filters.in("_id", values))
+                .into(new ArrayList<>(values.size()));
+    }
+
+    public <T> List<T> aggregate(TypedAggregation<?> aggregation, Class<T> type) {
+        AggregationOperationContext context = new TypeBasedAggregationOperationContext(
+                aggregation.getInputType(), mongoTemplate.getConverter().getMappingContext(), queryMapper);
+        return collection(mongoTemplate.getCollectionName(aggregation.getInputType()), type)
+                .aggregate(aggregation.toPipeline(context))
+                .into(new ArrayList<>());
+    }
+
+    private <T> MongoCollection<T> collection(String name, Class<T> type) {
+        return mongoTemplate.getCollection(name).withCodecRegistry(codecRegistry).withDocumentClass(type);
+    }
+
+    private MongoPersistentEntity<?> persistentEntity(Class<?> type) {
+        return mongoTemplate.getConverter().getMappingContext().getPersistentEntity(type);
+    }
+}
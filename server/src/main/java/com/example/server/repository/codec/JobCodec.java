@@ -0,0 +1,78 @@
+package com.example.server.repository.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+
+import com.example.server.model.Job;
+import com.example.server.model.JobStatus;
+import com.example.server.model.JobType;
+
+/**
+ * Codec cho Job - dùng được cho cả collection "jobs" lẫn read model "job_search" (cùng tên field).
+ */
+public class JobCodec extends EntityCodec<Job> {
+
+    @Override
+    public Class<Job> getEncoderClass() {
+        return Job.class;
+    }
+
+    @Override
+    protected Job newInstance() {
+        return new Job();
+    }
+
+    @Override
+    protected String idOf(Job value) {
+        return value.getId();
+    }
+
+    @Override
+    protected boolean readField(String name, BsonReader reader, Job job) {
+        switch (name) {
+            case "_id" -> job.setId(readId(reader));
+            case "title" -> job.setTitle(readString(reader));
+            case "titleFolded" -> job.setTitleFolded(readString(reader));
+            case "companyId" -> job.setCompanyId(readId(reader));
+            case "description" -> job.setDescription(readString(reader));
+            case "employmentType" -> job.setEmploymentType(readEnum(reader, JobType.class));
+            case "minExperience" -> job.setMinExperience(readInteger(reader));
+            case "salaryMin" -> job.setSalaryMin(readDouble(reader));
+            case "salaryMax" -> job.setSalaryMax(readDouble(reader));
+            case "status" -> job.setStatus(readEnum(reader, JobStatus.class));
+            case "deadline" -> job.setDeadline(readInstant(reader));
+            case "tags" -> job.setTags(readStringSet(reader));
+            case "postedByUserId" -> job.setPostedByUserId(readId(reader));
+            case "createdAt" -> job.setCreatedAt(readInstant(reader));
+            case "updatedAt" -> job.setUpdatedAt(readInstant(reader));
+            case "deletedAt" -> job.setDeletedAt(readInstant(reader));
+            case "sweptAt" -> job.setSweptAt(readInstant(reader));
+            case "viewCount" -> job.setViewCount(readLong(reader));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void writeFields(BsonWriter writer, Job job) {
+        writeString(writer, "title", job.getTitle());
+        writeString(writer, "titleFolded", job.getTitleFolded());
+        writeId(writer, "companyId", job.getCompanyId());
+        writeString(writer, "description", job.getDescription());
+        writeEnum(writer, "employmentType", job.getEmploymentType());
+        writeInteger(writer, "minExperience", job.getMinExperience());
+        writeDouble(writer, "salaryMin", job.getSalaryMin());
+        writeDouble(writer, "salaryMax", job.getSalaryMax());
+        writeEnum(writer, "status", job.getStatus());
+        writeInstant(writer, "deadline", job.getDeadline());
+        writeStrings(writer, "tags", job.getTags());
+        writeId(writer, "postedByUserId", job.getPostedByUserId());
+        writeInstant(writer, "createdAt", job.getCreatedAt());
+        writeInstant(writer, "updatedAt", job.getUpdatedAt());
+        writeInstant(writer, "deletedAt", job.getDeletedAt());
+        writeInstant(writer, "sweptAt", job.getSweptAt());
+        writeLong(writer, "viewCount", job.getViewCount());
+    }
+}
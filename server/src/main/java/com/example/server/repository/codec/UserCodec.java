@@ -0,0 +1,61 @@
+package com.example.server.repository.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+
+import com.example.server.model.User;
+import com.example.server.model.UserRole;
+import com.example.server.model.UserStatus;
+
+public class UserCodec extends EntityCodec<User> {
+
+    @Override
+    public Class<User> getEncoderClass() {
+        return User.class;
+    }
+
+    @Override
+    protected User newInstance() {
+        return new User();
+    }
+
+    @Override
+    protected String idOf(User value) {
+        return value.getId();
+    }
+
+    @Override
+    protected boolean readField(String name, BsonReader reader, User user) {
+        switch (name) {
+            case "_id" -> user.setId(readId(reader));
+            case "email" -> user.setEmail(readString(reader));
+            case "name" -> user.setName(readString(reader));
+            case "passwordHash" -> user.setPasswordHash(readString(reader));
+            case "role" -> user.setRole(readEnum(reader, UserRole.class));
+            case "status" -> user.setStatus(readEnum(reader, UserStatus.class));
+            case "verificationToken" -> user.setVerificationToken(readString(reader));
+            case "resetPasswordToken" -> user.setResetPasswordToken(readString(reader));
+            case "resetPasswordTokenExpiry" -> user.setResetPasswordTokenExpiry(readInstant(reader));
+            case "createdAt" -> user.setCreatedAt(readInstant(reader));
+            case "updatedAt" -> user.setUpdatedAt(readInstant(reader));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void writeFields(BsonWriter writer, User user) {
+        writeString(writer, "email", user.getEmail());
+        writeString(writer, "name", user.getName());
+        writeString(writer, "passwordHash", user.getPasswordHash());
+        writeEnum(writer, "role", user.getRole());
+        writeEnum(writer, "status", user.getStatus());
+        writeString(writer, "verificationToken", user.getVerificationToken());
+        writeString(writer, "resetPasswordToken", user.getResetPasswordToken());
+        writeInstant(writer, "resetPasswordTokenExpiry", user.getResetPasswordTokenExpiry());
+        writeInstant(writer, "createdAt", user.getCreatedAt());
+        writeInstant(writer, "updatedAt", user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.server.search;
+
+import java.util.Arrays;
+
+/**
+ * Tách từ + hash ổn định dùng chung cho các fingerprint nội dung Job (MinHash, SimHash).
+ * Mentor Note: Hash phải giống nhau giữa các lần chạy/JVM (signature được lưu xuống DB),
+ * nên không dùng String.hashCode (chỉ 32 bit) hay hash có seed ngẫu nhiên.
+ */
+final class ContentHashing {
+
+    private ContentHashing() {}
+
+    /**
+     * Các từ (đã fold: không dấu, chữ thường) của text; giữ + và # cho "c++", "c#".
+     */
+    static String[] tokens(String text) {
+        String folded = TextNormalizer.fold(text);
+        if (folded == null || folded.isBlank()) return new String[0];
+        return Arrays.stream(folded.split("[^\\p{Alnum}+#]+"))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // FNV-1a 64-bit
+    static long fnv(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Finalizer của SplitMix64: trộn đều bit (FNV yếu ở các bit thấp)
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
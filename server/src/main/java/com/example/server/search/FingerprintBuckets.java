@@ -0,0 +1,88 @@
+package com.example.server.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bucket SimHash theo (companyId, band): tra Job gần trùng (khoảng cách Hamming <= maxDistance) không cần quét.
+ * Mentor Note: Fingerprint 64 bit chia 4 band x 16 bit; khác nhau <= 3 bit thì chắc chắn trùng hoàn toàn
+ * ít nhất 1 band (nguyên lý Dirichlet) -> chỉ cần so với Job trong 4 bucket.
+ * Không tự đồng bộ: JobFingerprintIndex bọc bằng lock, bulk import dùng 1 instance riêng cho mỗi file.
+ */
+public final class FingerprintBuckets {
+
+    static final int BANDS = 4;
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+
+    private record Entry(String companyId, long fingerprint) {}
+
+    private final int maxDistance;
+    private final Map<String, Entry> entries = new HashMap<>();
+    // companyId -> (band << 16 | giá trị band) -> jobId
+    private final Map<String, Map<Integer, Set<String>>> buckets = new HashMap<>();
+
+    FingerprintBuckets(int maxDistance) {
+        this.maxDistance = maxDistance;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Job cùng công ty gần trùng nhất (khoảng cách nhỏ nhất, <= maxDistance), nếu có.
+     */
+    public Optional<String> findDuplicate(String companyId, long fingerprint) {
+        Map<Integer, Set<String>> companyBuckets = buckets.get(companyId);
+        if (companyBuckets == null) return Optional.empty();
+
+        String best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int band = 0; band < BANDS; band++) {
+            Set<String> bucket = companyBuckets.get(bandKey(fingerprint, band));
+            if (bucket == null) continue;
+            for (String jobId : bucket) {
+                int distance = Long.bitCount(entries.get(jobId).fingerprint() ^ fingerprint);
+                if (distance <= maxDistance && distance < bestDistance) {
+                    best = jobId;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void add(String jobId, String companyId, long fingerprint) {
+        remove(jobId);
+        entries.put(jobId, new Entry(companyId, fingerprint));
+        Map<Integer, Set<String>> companyBuckets = buckets.computeIfAbsent(companyId, c -> new HashMap<>());
+        for (int band = 0; band < BANDS; band++) {
+            companyBuckets.computeIfAbsent(bandKey(fingerprint, band), k -> new HashSet<>()).add(jobId);
+        }
+    }
+
+    public void remove(String jobId) {
+        Entry entry = entries.remove(jobId);
+        if (entry == null) return;
+        Map<Integer, Set<String>> companyBuckets = buckets.get(entry.companyId());
+        for (int band = 0; band < BANDS; band++) {
+            int key = bandKey(entry.fingerprint(), band);
+            Set<String> bucket = companyBuckets.get(key);
+            if (bucket != null && bucket.remove(jobId) && bucket.isEmpty()) companyBuckets.remove(key);
+        }
+        if (companyBuckets.isEmpty()) buckets.remove(entry.companyId());
+    }
+
+    void clear() {
+        entries.clear();
+        buckets.clear();
+    }
+
+    private static int bandKey(long fingerprint, int band) {
+        int value = (int) ((fingerprint >>> (band * BAND_BITS)) & ((1L << BAND_BITS) - 1));
+        return band << BAND_BITS | value;
+    }
+}
@@ -0,0 +1,801 @@
+package com.example.server.search;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.RoaringBitmapWriter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+import com.example.server.model.JobType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshot dạng cột (columnar) của toàn bộ Job trong bộ nhớ, trả lời các search chỉ có filter
+ * (không keyword) mà không cần chạm tới MongoDB.
+ * Mentor Note: Mỗi Job được cấp 1 ordinal (int), chỉ append. Giá trị số lưu trong mảng primitive,
+ * enum/city/category được mã hóa thành int code và có posting list dạng bitmap (Roaring) cho mỗi giá trị.
+ * Lọc = AND các bitmap + quét mảng số trên tập ứng viên.
+ * Thứ tự createdAt: ordinal append đúng thứ tự tạo thành "chuỗi chính" (phân trang = select() trên bitmap);
+ * Job đến trễ vài ms (tạo đồng thời, import) nằm trong overlay "late" nhỏ, được trộn vào lúc phân trang.
+ * Không bao giờ sắp lại toàn bộ catalog trên đường ghi: khi overlay/ordinal đã xóa nhiều, compact() chạy
+ * ở background trên bản sao rồi thay thế nguyên khối (mutation trong lúc đó được replay từ journal).
+ * Bộ nhớ: ~44 bytes/ordinal cho các cột cố định (capacity tăng 1.5x, cắt về size + 1/8 sau khi nạp/compact),
+ * 8-16 bytes/Job cho bảng băm ID, mảng tag dùng chung giữa các Job cùng bộ tag, cộng posting list.
+ * Log lúc nạp/compact in ra con số thực tế. Không lưu text.
+ * Lưu mọi status (không chỉ OPEN) để trả lời được cả request không lọc status.
+ * Tag là inverted index: tag -> bitmap ordinal; tagMode=all là AND, tagMode=any là OR các bitmap.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Cập nhật trước JobSearchCache (xem JobSearchCache)
+public class JobCatalog implements JobIndexListener {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte NO_VALUE = -1;
+    // Lương lưu dạng int: NO_SALARY = không có, EXACT_SALARY = không phải số nguyên -> giá trị thật nằm ở map riêng
+    private static final int NO_SALARY = Integer.MIN_VALUE;
+    private static final int EXACT_SALARY = Integer.MIN_VALUE + 1;
+    // Overlay late lớn hơn ngưỡng này thì compact (mỗi trang phải trộn các Job late khớp filter)
+    private static final int MAX_LATE = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Chỉ 1 lần rebuild/compact tại 1 thời điểm, tách khỏi lock của search
+    private final Object maintenanceLock = new Object();
+
+    private Segment segment = new Segment(INITIAL_CAPACITY);
+
+    // Mutation nhận được trong lúc rebuild/compact đang dựng segment mới ngoài lock (null = không ghi)
+    private List<Mutation> journal;
+
+    private volatile boolean ready = false;
+
+    private record Mutation(JobSearchDocument upserted, String removedId) {}
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Chỉ phục vụ request thuần filter (không keyword), sort theo createdAt.
+     */
+    public boolean supports(JobSearchRequest request, Pageable pageable) {
+        if (StringUtils.hasText(request.keyword())) return false;
+        // Bán kính + sắp theo khoảng cách: 2dsphere index trên MongoDB
+        if (JobSearchFilters.hasGeo(request)) return false;
+        for (Sort.Order order : pageable.getSort()) {
+            if (!"createdAt".equals(order.getProperty())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Trả về 1 trang Job ID (createdAt giảm dần, trừ khi sort tăng dần) kèm tổng số kết quả.
+     */
+    public Page<String> search(JobSearchRequest request, Pageable pageable) {
+        Sort.Order order = pageable.getSort().getOrderFor("createdAt");
+        boolean descending = order == null || order.isDescending();
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = segment.filter(request);
+            int total = matches.getCardinality();
+            int from = (int) Math.min(pageable.getOffset(), total);
+            int to = Math.min(from + pageable.getPageSize(), total);
+            return new PageImpl<>(segment.page(matches, from, to, descending), pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        apply(new Mutation(current, null));
+    }
+
+    @Override
+    public void onRemoved(JobSearchDocument removed) {
+        apply(new Mutation(null, removed.getId()));
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        synchronized (maintenanceLock) {
+            ready = false;
+            lock.writeLock().lock();
+            try {
+                segment = new Segment(INITIAL_CAPACITY);
+                journal = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // Nạp ngoài lock (stream theo createdAt tăng dần -> không có Job late); mutation đồng thời
+            // không bị chặn, được ghi vào journal và replay khi nạp xong
+            Segment loading = new Segment(INITIAL_CAPACITY);
+            try {
+                documents.forEach(loading::upsert);
+                loading.trim();
+            } catch (RuntimeException e) {
+                discardJournal();
+                throw e;
+            }
+            swap(loading);
+            log.info("JobCatalog loaded {} jobs, ~{} bytes/job", loading.liveCount(), loading.estimatedBytesPerJob());
+            ready = !loading.invalid;
+        }
+    }
+
+    /**
+     * Đánh số lại ordinal theo createdAt (gộp overlay late vào chuỗi chính, bỏ ordinal đã xóa).
+     * Mentor Note: Chỉ copy mảng dưới read lock (search vẫn chạy), sắp xếp + dựng posting list trên bản sao
+     * ngoài lock, write lock chỉ để replay vài mutation trong journal và đổi tham chiếu.
+     */
+    @Scheduled(fixedDelayString = "${app.search.catalog.compact-interval:30s}")
+    public void compact() {
+        synchronized (maintenanceLock) {
+            if (!ready) return;
+
+            Segment snapshot;
+            lock.readLock().lock();
+            try {
+                if (!segment.needsCompaction()) return;
+                snapshot = segment.copy();
+                journal = new ArrayList<>(); // writer không chạy song song với read lock
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            long start = System.currentTimeMillis();
+            Segment compacted;
+            try {
+                compacted = snapshot.compacted();
+            } catch (RuntimeException e) {
+                discardJournal();
+                log.error("JobCatalog compaction failed, keeping the current segment", e);
+                return;
+            }
+            swap(compacted);
+            log.info("JobCatalog compacted {} jobs in {} ms, ~{} bytes/job",
+                    compacted.liveCount(), System.currentTimeMillis() - start, compacted.estimatedBytesPerJob());
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) journal.add(mutation);
+            segment.apply(mutation);
+            if (segment.invalid) ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void swap(Segment next) {
+        lock.writeLock().lock();
+        try {
+            for (Mutation mutation : journal) next.apply(mutation);
+            journal = null;
+            segment = next;
+            if (next.invalid) ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void discardJournal() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Toàn bộ cột + posting list của catalog. Không tự đồng bộ: JobCatalog giữ lock khi đọc/ghi
+     * segment đang phục vụ; segment đang dựng (rebuild/compact) chỉ 1 thread truy cập.
+     */
+    private static final class Segment {
+
+        // --- Columns (index = ordinal) ---
+        private int size;
+        private long[] idHigh;       // 8 byte đầu của ObjectId
+        private int[] idLow;         // 4 byte cuối của ObjectId
+        private long[] createdAt;    // epoch millis
+        private int[] salaryMin;     // NO_SALARY = không có, EXACT_SALARY = xem exactSalaryMin
+        private int[] salaryMax;
+        private short[] minExperience; // -1 = không có
+        private byte[] status;         // JobStatus.ordinal(), -1 = không có
+        private byte[] employmentType; // JobType.ordinal(), -1 = không có
+        private int[] city;            // code trong dictionary, -1 = không có
+        private int[] category;
+        private int[][] tags;          // code các tag (đã sort, dùng chung qua tagSets), null = không có
+
+        // Lương lẻ / vượt int (hiếm): ordinal -> giá trị chính xác
+        private Map<Integer, Double> exactSalaryMin = new HashMap<>();
+        private Map<Integer, Double> exactSalaryMax = new HashMap<>();
+        // Job cùng bộ tag dùng chung 1 mảng code
+        private final Map<TagSet, int[]> tagSets = new HashMap<>();
+
+        // --- Posting lists ---
+        private RoaringBitmap live = new RoaringBitmap();
+        private final RoaringBitmap[] statusPostings = newPostings(JobStatus.values().length);
+        private final RoaringBitmap[] typePostings = newPostings(JobType.values().length);
+        private final RoaringBitmap[] salaryBandPostings = newPostings(SalaryBands.COUNT);
+        private Dictionary cities = new Dictionary();
+        private Dictionary categories = new Dictionary();
+        private Dictionary tagDictionary = new Dictionary(); // key = tag đã fold (so khớp chính xác)
+
+        // --- Thứ tự createdAt ---
+        // Chuỗi chính: ordinal tăng dần <=> (createdAt, ordinal) tăng dần
+        private final RoaringBitmap sequence = new RoaringBitmap();
+        // Ordinal append khi createdAt nhỏ hơn Job cuối của chuỗi chính
+        private RoaringBitmap late = new RoaringBitmap();
+        private long lastCreatedAt = Long.MIN_VALUE;
+
+        // ID -> ordinal: open addressing, lưu ordinal + 1 (0 = slot trống), load <= 0.5
+        private int[] slots;
+
+        // Gặp ID không phải ObjectId -> catalog không phục vụ chính xác được nữa
+        private boolean invalid;
+
+        Segment(int capacity) {
+            resize(capacity);
+            slots = new int[tableSize(capacity)];
+        }
+
+        void apply(Mutation mutation) {
+            if (mutation.removedId() != null) {
+                int ordinal = find(mutation.removedId());
+                if (ordinal >= 0) unindex(ordinal);
+            } else {
+                upsert(mutation.upserted());
+            }
+        }
+
+        int liveCount() {
+            return live.getCardinality();
+        }
+
+        // --- Filtering ---
+
+        RoaringBitmap filter(JobSearchRequest request) {
+            RoaringBitmap result = live.clone();
+
+            if (request.status() != null) {
+                result.and(statusPostings[request.status().ordinal()]);
+            }
+            if (request.jobType() != null) {
+                result.and(typePostings[request.jobType().ordinal()]);
+            }
+            if (StringUtils.hasText(request.locationCity())) {
+                result.and(cities.matching(request.locationCity()));
+            }
+            if (StringUtils.hasText(request.categoryName())) {
+                result.and(categories.matching(request.categoryName()));
+            }
+            List<String> tagFilter = JobSearchFilters.tags(request);
+            if (!tagFilter.isEmpty()) {
+                result.and(matchingTags(tagFilter, JobSearchFilters.matchAnyTag(request)));
+            }
+
+            // Salary: OR các band giao với [minSalary, maxSalary] để thu hẹp tập cần so sánh chính xác
+            if (request.minSalary() != null || request.maxSalary() != null) {
+                List<RoaringBitmap> bands = new ArrayList<>();
+                for (int band : SalaryBands.bandsOverlapping(request.minSalary(), request.maxSalary())) {
+                    bands.add(salaryBandPostings[band]);
+                }
+                result.and(bands.isEmpty() ? new RoaringBitmap() : FastAggregation.or(bands.iterator()));
+            }
+
+            boolean numericFilter = request.minSalary() != null || request.maxSalary() != null || request.minExperience() != null;
+            if (!numericFilter || result.isEmpty()) return result;
+
+            // Cột số: quét mảng primitive trên tập ứng viên còn lại (ordinal tăng dần -> ghi bitmap tuần tự)
+            double minSalary = request.minSalary() != null ? request.minSalary() : Double.NaN;
+            double maxSalary = request.maxSalary() != null ? request.maxSalary() : Double.NaN;
+            int maxExperience = request.minExperience() != null ? request.minExperience() : -1;
+
+            RoaringBitmapWriter<RoaringBitmap> writer = RoaringBitmapWriter.writer().get();
+            IntIterator it = result.getIntIterator();
+            while (it.hasNext()) {
+                int ordinal = it.next();
+                // Giống MongoDB: field null không thỏa điều kiện so sánh (NaN so sánh luôn false)
+                if (request.minSalary() != null && !(salaryMaxOf(ordinal) >= minSalary)) continue;
+                if (request.maxSalary() != null && !(salaryMinOf(ordinal) <= maxSalary)) continue;
+                if (request.minExperience() != null
+                        && (minExperience[ordinal] == NO_VALUE || minExperience[ordinal] > maxExperience)) continue;
+                writer.add(ordinal);
+            }
+            return writer.get();
+        }
+
+        private RoaringBitmap matchingTags(List<String> tagFilter, boolean any) {
+            List<RoaringBitmap> postings = new ArrayList<>(tagFilter.size());
+            for (String tag : tagFilter) {
+                RoaringBitmap posting = tagDictionary.postingsOf(tag);
+                if (posting != null) {
+                    postings.add(posting);
+                } else if (!any) {
+                    return new RoaringBitmap(); // tag không tồn tại -> AND rỗng
+                }
+            }
+            if (postings.isEmpty()) return new RoaringBitmap();
+            return any
+                    ? FastAggregation.or(postings.iterator())
+                    : FastAggregation.and(postings.iterator());
+        }
+
+        // --- Paging ---
+
+        /**
+         * Job ID ở vị trí [from, to) của matches theo (createdAt, ordinal).
+         * Chuỗi chính đã đúng thứ tự (select theo rank); mỗi Job late khớp filter được chèn vào đúng vị trí
+         * của nó = số Job chuỗi chính đứng trước (binary search) + số Job late đứng trước.
+         */
+        List<String> page(RoaringBitmap matches, int from, int to, boolean descending) {
+            int total = matches.getCardinality();
+            RoaringBitmap mainMatches = late.isEmpty() ? matches : RoaringBitmap.andNot(matches, late);
+            int[] lateMatches = late.isEmpty() ? new int[0] : RoaringBitmap.and(matches, late).toArray();
+            sortByCreatedAt(lateMatches);
+            int[] positions = new int[lateMatches.length];
+            for (int j = 0; j < lateMatches.length; j++) {
+                positions[j] = mainBefore(mainMatches, lateMatches[j]) + j;
+            }
+
+            // Vị trí theo thứ tự tăng dần của trang cần lấy
+            int low = descending ? total - to : from;
+            int high = descending ? total - from : to;
+            int[] ordinals = new int[high - low];
+            int j = 0;
+            while (j < positions.length && positions[j] < low) j++;
+            int mainRank = low - j;
+            for (int i = low; i < high; i++) {
+                ordinals[i - low] = j < positions.length && positions[j] == i
+                        ? lateMatches[j++]
+                        : mainMatches.select(mainRank++);
+            }
+
+            List<String> ids = new ArrayList<>(ordinals.length);
+            for (int i = 0; i < ordinals.length; i++) {
+                ids.add(idOf(ordinals[descending ? ordinals.length - 1 - i : i]));
+            }
+            return ids;
+        }
+
+        // Số Job chuỗi chính trong mainMatches đứng trước ordinal late theo (createdAt, ordinal)
+        private int mainBefore(RoaringBitmap mainMatches, int lateOrdinal) {
+            int low = 0;
+            int high = sequence.getCardinality();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (after(sequence.select(mid), lateOrdinal)) high = mid; else low = mid + 1;
+            }
+            if (low == sequence.getCardinality()) return mainMatches.getCardinality();
+            int boundary = sequence.select(low);
+            return boundary == 0 ? 0 : (int) mainMatches.rankLong(boundary - 1);
+        }
+
+        private boolean after(int a, int b) {
+            return createdAt[a] > createdAt[b] || (createdAt[a] == createdAt[b] && a > b);
+        }
+
+        // Merge sort ổn định theo createdAt (không boxing); input tăng dần theo ordinal nên hòa thì ordinal nhỏ trước
+        private void sortByCreatedAt(int[] ordinals) {
+            int n = ordinals.length;
+            if (n < 2) return;
+            int[] source = ordinals;
+            int[] target = new int[n];
+            for (int width = 1; width < n; width <<= 1) {
+                for (int low = 0; low < n; low += width << 1) {
+                    int mid = Math.min(low + width, n);
+                    int high = Math.min(low + (width << 1), n);
+                    int i = low;
+                    int j = mid;
+                    int k = low;
+                    while (i < mid && j < high) {
+                        target[k++] = createdAt[source[j]] < createdAt[source[i]] ? source[j++] : source[i++];
+                    }
+                    while (i < mid) target[k++] = source[i++];
+                    while (j < high) target[k++] = source[j++];
+                }
+                int[] swap = source;
+                source = target;
+                target = swap;
+            }
+            if (source != ordinals) System.arraycopy(source, 0, ordinals, 0, n);
+        }
+
+        // --- Mutations ---
+
+        void upsert(JobSearchDocument doc) {
+            if (!ObjectId.isValid(doc.getId())) {
+                log.warn("JobCatalog disabled: job id {} is not an ObjectId", doc.getId());
+                invalid = true;
+                return;
+            }
+
+            int ordinal = find(doc.getId());
+            if (ordinal >= 0) {
+                unindex(ordinal);
+            } else {
+                ordinal = append(doc);
+            }
+
+            salaryMin[ordinal] = encodeSalary(doc.getSalaryMin(), ordinal, exactSalaryMin);
+            salaryMax[ordinal] = encodeSalary(doc.getSalaryMax(), ordinal, exactSalaryMax);
+            minExperience[ordinal] = doc.getMinExperience() != null
+                    ? (short) Math.min(doc.getMinExperience(), Short.MAX_VALUE) : NO_VALUE;
+            status[ordinal] = doc.getStatus() != null ? (byte) doc.getStatus().ordinal() : NO_VALUE;
+            employmentType[ordinal] = doc.getEmploymentType() != null ? (byte) doc.getEmploymentType().ordinal() : NO_VALUE;
+            city[ordinal] = cities.codeOf(doc.getCity());
+            category[ordinal] = categories.codeOf(doc.getCategoryName());
+            tags[ordinal] = internTags(doc.getTagsFolded());
+
+            index(ordinal);
+        }
+
+        private int append(JobSearchDocument doc) {
+            if (size == idHigh.length) resize(size + (size >> 1));
+            int ordinal = size++;
+
+            ByteBuffer id = ByteBuffer.wrap(new ObjectId(doc.getId()).toByteArray());
+            idHigh[ordinal] = id.getLong();
+            idLow[ordinal] = id.getInt();
+            createdAt[ordinal] = doc.getCreatedAt() != null ? doc.getCreatedAt().toEpochMilli() : 0L;
+            if (createdAt[ordinal] >= lastCreatedAt) {
+                lastCreatedAt = createdAt[ordinal];
+                sequence.add(ordinal);
+            } else {
+                late.add(ordinal);
+            }
+
+            if (size * 2 > slots.length) {
+                rehash(slots.length * 2); // đã gồm ordinal mới
+            } else {
+                insertSlot(ordinal);
+            }
+            return ordinal;
+        }
+
+        private void index(int ordinal) {
+            live.add(ordinal);
+            if (status[ordinal] != NO_VALUE) statusPostings[status[ordinal]].add(ordinal);
+            if (employmentType[ordinal] != NO_VALUE) typePostings[employmentType[ordinal]].add(ordinal);
+            forEachSalaryBand(ordinal, band -> salaryBandPostings[band].add(ordinal));
+            if (city[ordinal] >= 0) cities.postings(city[ordinal]).add(ordinal);
+            if (category[ordinal] >= 0) categories.postings(category[ordinal]).add(ordinal);
+            if (tags[ordinal] != null) {
+                for (int code : tags[ordinal]) tagDictionary.postings(code).add(ordinal);
+            }
+        }
+
+        private void unindex(int ordinal) {
+            if (!live.contains(ordinal)) return;
+            live.remove(ordinal);
+            if (status[ordinal] != NO_VALUE) statusPostings[status[ordinal]].remove(ordinal);
+            if (employmentType[ordinal] != NO_VALUE) typePostings[employmentType[ordinal]].remove(ordinal);
+            forEachSalaryBand(ordinal, band -> salaryBandPostings[band].remove(ordinal));
+            if (city[ordinal] >= 0) cities.postings(city[ordinal]).remove(ordinal);
+            if (category[ordinal] >= 0) categories.postings(category[ordinal]).remove(ordinal);
+            if (tags[ordinal] != null) {
+                for (int code : tags[ordinal]) tagDictionary.postings(code).remove(ordinal);
+            }
+        }
+
+        private void forEachSalaryBand(int ordinal, IntConsumer action) {
+            double min = salaryMinOf(ordinal);
+            double max = salaryMaxOf(ordinal);
+            SalaryBands.bandsOf(Double.isNaN(min) ? null : min, Double.isNaN(max) ? null : max).forEach(action::accept);
+        }
+
+        private int[] internTags(Set<String> tagsFolded) {
+            if (tagsFolded == null || tagsFolded.isEmpty()) return null;
+            int[] codes = tagsFolded.stream().mapToInt(tagDictionary::codeOf).sorted().toArray();
+            return tagSets.computeIfAbsent(new TagSet(codes), TagSet::codes);
+        }
+
+        // --- Salary (int, giá trị không nguyên giữ nguyên bản trong map) ---
+
+        private static int encodeSalary(Double value, int ordinal, Map<Integer, Double> exact) {
+            exact.remove(ordinal);
+            if (value == null || value.isNaN()) return NO_SALARY;
+            if (value == Math.rint(value) && value > EXACT_SALARY && value <= Integer.MAX_VALUE) {
+                return (int) (double) value;
+            }
+            exact.put(ordinal, value);
+            return EXACT_SALARY;
+        }
+
+        private double salaryMinOf(int ordinal) {
+            return decodeSalary(salaryMin[ordinal], ordinal, exactSalaryMin);
+        }
+
+        private double salaryMaxOf(int ordinal) {
+            return decodeSalary(salaryMax[ordinal], ordinal, exactSalaryMax);
+        }
+
+        private static double decodeSalary(int value, int ordinal, Map<Integer, Double> exact) {
+            if (value == NO_SALARY) return Double.NaN;
+            return value == EXACT_SALARY ? exact.get(ordinal) : value;
+        }
+
+        // --- Compaction ---
+
+        boolean needsCompaction() {
+            int removed = size - live.getCardinality();
+            return late.getCardinality() > MAX_LATE || removed > Math.max(INITIAL_CAPACITY, size / 4);
+        }
+
+        /**
+         * Bản sao cột + dictionary (posting list rỗng) dưới read lock, chỉ dùng để gọi compacted().
+         */
+        Segment copy() {
+            Segment copy = new Segment(size);
+            copy.size = size;
+            System.arraycopy(idHigh, 0, copy.idHigh, 0, size);
+            System.arraycopy(idLow, 0, copy.idLow, 0, size);
+            System.arraycopy(createdAt, 0, copy.createdAt, 0, size);
+            System.arraycopy(salaryMin, 0, copy.salaryMin, 0, size);
+            System.arraycopy(salaryMax, 0, copy.salaryMax, 0, size);
+            System.arraycopy(minExperience, 0, copy.minExperience, 0, size);
+            System.arraycopy(status, 0, copy.status, 0, size);
+            System.arraycopy(employmentType, 0, copy.employmentType, 0, size);
+            System.arraycopy(city, 0, copy.city, 0, size);
+            System.arraycopy(category, 0, copy.category, 0, size);
+            System.arraycopy(tags, 0, copy.tags, 0, size); // mảng tag không bị sửa tại chỗ -> dùng chung được
+            copy.exactSalaryMin = new HashMap<>(exactSalaryMin);
+            copy.exactSalaryMax = new HashMap<>(exactSalaryMax);
+            copy.live = live.clone();
+            copy.late = late.clone();
+            copy.cities = cities.copy();
+            copy.categories = categories.copy();
+            copy.tagDictionary = tagDictionary.copy();
+            return copy;
+        }
+
+        /**
+         * Segment mới chỉ gồm Job còn sống, ordinal đánh lại theo (createdAt, ordinal) -> overlay late rỗng.
+         * Chuỗi chính đã sắp sẵn nên chỉ cần sắp các Job late rồi trộn (merge) 2 dãy.
+         */
+        Segment compacted() {
+            int[] lateLive = RoaringBitmap.and(late, live).toArray();
+            sortByCreatedAt(lateLive);
+            int count = live.getCardinality();
+
+            Segment next = new Segment(capacityFor(count));
+            next.cities = cities;
+            next.categories = categories;
+            next.tagDictionary = tagDictionary;
+
+            IntIterator main = RoaringBitmap.andNot(live, late).getIntIterator();
+            int mainOrdinal = main.hasNext() ? main.next() : -1;
+            int j = 0;
+            while (mainOrdinal >= 0 || j < lateLive.length) {
+                if (mainOrdinal >= 0 && (j == lateLive.length || after(lateLive[j], mainOrdinal))) {
+                    next.copyFrom(this, mainOrdinal);
+                    mainOrdinal = main.hasNext() ? main.next() : -1;
+                } else {
+                    next.copyFrom(this, lateLive[j++]);
+                }
+            }
+            return next;
+        }
+
+        private void copyFrom(Segment source, int from) {
+            int ordinal = size++;
+            idHigh[ordinal] = source.idHigh[from];
+            idLow[ordinal] = source.idLow[from];
+            createdAt[ordinal] = source.createdAt[from];
+            salaryMin[ordinal] = source.salaryMin[from];
+            salaryMax[ordinal] = source.salaryMax[from];
+            if (salaryMin[ordinal] == EXACT_SALARY) exactSalaryMin.put(ordinal, source.exactSalaryMin.get(from));
+            if (salaryMax[ordinal] == EXACT_SALARY) exactSalaryMax.put(ordinal, source.exactSalaryMax.get(from));
+            minExperience[ordinal] = source.minExperience[from];
+            status[ordinal] = source.status[from];
+            employmentType[ordinal] = source.employmentType[from];
+            city[ordinal] = source.city[from];
+            category[ordinal] = source.category[from];
+            int[] codes = source.tags[from];
+            tags[ordinal] = codes == null ? null : tagSets.computeIfAbsent(new TagSet(codes), TagSet::codes);
+
+            lastCreatedAt = createdAt[ordinal];
+            sequence.add(ordinal);
+            insertSlot(ordinal);
+            index(ordinal);
+        }
+
+        /** Sau khi nạp: bỏ phần capacity dư của lần grow cuối. */
+        void trim() {
+            int capacity = capacityFor(size);
+            if (capacity < idHigh.length) resize(capacity);
+        }
+
+        private static int capacityFor(int count) {
+            return Math.max(INITIAL_CAPACITY, count + (count >> 3));
+        }
+
+        private void resize(int capacity) {
+            idHigh = idHigh == null ? new long[capacity] : Arrays.copyOf(idHigh, capacity);
+            idLow = idLow == null ? new int[capacity] : Arrays.copyOf(idLow, capacity);
+            createdAt = createdAt == null ? new long[capacity] : Arrays.copyOf(createdAt, capacity);
+            salaryMin = salaryMin == null ? new int[capacity] : Arrays.copyOf(salaryMin, capacity);
+            salaryMax = salaryMax == null ? new int[capacity] : Arrays.copyOf(salaryMax, capacity);
+            minExperience = minExperience == null ? new short[capacity] : Arrays.copyOf(minExperience, capacity);
+            status = status == null ? new byte[capacity] : Arrays.copyOf(status, capacity);
+            employmentType = employmentType == null ? new byte[capacity] : Arrays.copyOf(employmentType, capacity);
+            city = city == null ? new int[capacity] : Arrays.copyOf(city, capacity);
+            category = category == null ? new int[capacity] : Arrays.copyOf(category, capacity);
+            tags = tags == null ? new int[capacity][] : Arrays.copyOf(tags, capacity);
+        }
+
+        private static RoaringBitmap[] newPostings(int count) {
+            RoaringBitmap[] postings = new RoaringBitmap[count];
+            for (int i = 0; i < count; i++) postings[i] = new RoaringBitmap();
+            return postings;
+        }
+
+        // --- ID <-> ordinal ---
+
+        private int find(String id) {
+            if (!ObjectId.isValid(id)) return -1;
+            ByteBuffer bytes = ByteBuffer.wrap(new ObjectId(id).toByteArray());
+            long high = bytes.getLong();
+            int low = bytes.getInt();
+
+            int mask = slots.length - 1;
+            for (int i = slot(high, low) & mask; slots[i] != 0; i = (i + 1) & mask) {
+                int ordinal = slots[i] - 1;
+                if (idHigh[ordinal] == high && idLow[ordinal] == low) return ordinal;
+            }
+            return -1;
+        }
+
+        private void insertSlot(int ordinal) {
+            int mask = slots.length - 1;
+            int i = slot(idHigh[ordinal], idLow[ordinal]) & mask;
+            while (slots[i] != 0) i = (i + 1) & mask;
+            slots[i] = ordinal + 1;
+        }
+
+        private void rehash(int capacity) {
+            slots = new int[capacity];
+            for (int ordinal = 0; ordinal < size; ordinal++) insertSlot(ordinal);
+        }
+
+        // Lũy thừa của 2, >= 2 lần số phần tử (load <= 0.5)
+        private static int tableSize(int count) {
+            int size = INITIAL_CAPACITY * 2;
+            while (size < count * 2) size <<= 1;
+            return size;
+        }
+
+        private static int slot(long high, int low) {
+            long h = (high ^ (low * 0x9E3779B97F4A7C15L)) * 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private String idOf(int ordinal) {
+            ByteBuffer bytes = ByteBuffer.allocate(12).putLong(idHigh[ordinal]).putInt(idLow[ordinal]);
+            return new ObjectId(bytes.array()).toHexString();
+        }
+
+        /**
+         * Ước lượng theo capacity đã cấp phát (không phải số Job đang sống) chia cho số Job đang sống.
+         */
+        long estimatedBytesPerJob() {
+            int jobs = Math.max(live.getCardinality(), 1);
+            // long id + int id + long createdAt + 2 int lương + short + 2 byte + 2 int code + tham chiếu tags (4 byte)
+            long bytes = (long) idHigh.length * (8 + 4 + 8 + 4 + 4 + 2 + 1 + 1 + 4 + 4 + 4);
+            bytes += (long) slots.length * 4;
+            // Mảng tag dùng chung: header 16 byte + 4 byte/code, làm tròn lên bội số 8
+            for (int[] codes : tagSets.values()) bytes += (16 + 4L * codes.length + 7) & ~7L;
+            // Entry HashMap + Integer + Double
+            bytes += (exactSalaryMin.size() + exactSalaryMax.size()) * 64L;
+            bytes += live.getLongSizeInBytes() + sequence.getLongSizeInBytes() + late.getLongSizeInBytes()
+                    + cities.sizeInBytes() + categories.sizeInBytes() + tagDictionary.sizeInBytes();
+            for (RoaringBitmap bitmap : statusPostings) bytes += bitmap.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : typePostings) bytes += bitmap.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : salaryBandPostings) bytes += bitmap.getLongSizeInBytes();
+            return bytes / jobs;
+        }
+    }
+
+    /** Key của bảng intern mảng tag (so sánh theo nội dung mảng). */
+    private record TagSet(int[] codes) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TagSet tagSet && Arrays.equals(codes, tagSet.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(codes);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(codes);
+        }
+    }
+
+    /**
+     * Dictionary encoding cho cột text ít giá trị (city, category): value -> code + posting list.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> foldedValues = new ArrayList<>();
+        private final List<RoaringBitmap> postings = new ArrayList<>();
+
+        int codeOf(String value) {
+            if (value == null) return -1;
+            return codes.computeIfAbsent(value, v -> {
+                foldedValues.add(TextNormalizer.fold(v));
+                postings.add(new RoaringBitmap());
+                return postings.size() - 1;
+            });
+        }
+
+        RoaringBitmap postings(int code) {
+            return postings.get(code);
+        }
+
+        /** Posting list của đúng giá trị này (null nếu chưa từng xuất hiện). */
+        RoaringBitmap postingsOf(String value) {
+            Integer code = codes.get(value);
+            return code != null ? postings.get(code) : null;
+        }
+
+        /**
+         * OR posting list của mọi giá trị bắt đầu bằng filter (không dấu) - cùng ngữ nghĩa
+         * với prefix regex trên MongoDB nhưng chỉ quét dictionary (vài trăm giá trị) thay vì từng Job.
+         */
+        RoaringBitmap matching(String filter) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (int code = 0; code < foldedValues.size(); code++) {
+                if (TextNormalizer.startsWithFolded(foldedValues.get(code), filter)) result.or(postings.get(code));
+            }
+            return result;
+        }
+
+        /** Cùng code, posting list rỗng (dựng lại khi compact). */
+        Dictionary copy() {
+            Dictionary copy = new Dictionary();
+            copy.codes.putAll(codes);
+            copy.foldedValues.addAll(foldedValues);
+            for (int i = 0; i < postings.size(); i++) copy.postings.add(new RoaringBitmap());
+            return copy;
+        }
+
+        long sizeInBytes() {
+            long bytes = 0;
+            for (RoaringBitmap bitmap : postings) bytes += bitmap.getLongSizeInBytes();
+            return bytes;
+        }
+    }
+}
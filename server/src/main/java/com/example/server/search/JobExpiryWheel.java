@@ -0,0 +1,172 @@
+package com.example.server.search;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lịch hết hạn (deadline) của các Job OPEN dạng hierarchical timing wheel, độ phân giải 1 giây.
+ * Mentor Note: 4 tầng bánh xe - giây (60 ô), phút (60 ô), giờ (24 ô), ngày (512 ô).
+ * Deadline được đặt vào tầng thấp nhất chứa được khoảng cách tới nó; mỗi khi kim của tầng trên
+ * sang ô mới, các Job trong ô đó được "hạ" xuống tầng dưới (cascade). Thêm/xóa O(1), mỗi tick chỉ
+ * chạm đúng các Job tới hạn -> không phải quét toàn bộ collection định kỳ.
+ * Deadline xa hơn ~512 ngày nằm ở ô cuối cùng của tầng ngày và được xếp lại khi tới lượt.
+ * Đồng bộ qua JobIndexListener nên create/update/delete Job tự cập nhật lịch.
+ */
+@Slf4j
+@Component
+public class JobExpiryWheel implements JobIndexListener {
+
+    private static final int[] SLOTS = {60, 60, 24, 512};
+    private static final long[] SPANS = {1, 60, 3_600, 86_400}; // số giây của 1 ô mỗi tầng
+
+    // [tầng][ô] -> jobId
+    private final List<List<Set<String>>> wheels = new ArrayList<>();
+    // jobId -> deadline (epoch second) hiện tại: bản ghi cũ trong ô không khớp thì bỏ qua
+    private final Map<String, Long> deadlines = new HashMap<>();
+    // Deadline đã qua lúc được thêm vào, trả về ở lần advance kế tiếp
+    private final Set<String> overdue = new LinkedHashSet<>();
+    private long currentSecond = Instant.now().getEpochSecond();
+
+    private volatile boolean ready;
+
+    public JobExpiryWheel() {
+        for (int slots : SLOTS) {
+            List<Set<String>> wheel = new ArrayList<>(slots);
+            for (int i = 0; i < slots; i++) wheel.add(new HashSet<>());
+            wheels.add(wheel);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Quay kim tới thời điểm now, trả về các Job đã tới hạn (và gỡ chúng khỏi lịch).
+     */
+    public synchronized List<String> advance(Instant now) {
+        List<String> due = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long target = now.getEpochSecond();
+        while (currentSecond < target) {
+            currentSecond++;
+            // Cascade từ tầng cao xuống: ô mới của tầng trên được phân bổ lại vào tầng dưới
+            for (int level = SLOTS.length - 1; level > 0; level--) {
+                if (currentSecond % SPANS[level] != 0) continue;
+                Set<String> slot = slotOf(level, currentSecond);
+                if (slot.isEmpty()) continue;
+                List<String> cascading = new ArrayList<>(slot);
+                slot.clear();
+                for (String jobId : cascading) {
+                    Long deadline = deadlines.get(jobId);
+                    if (deadline != null) place(jobId, deadline, due);
+                }
+            }
+
+            Set<String> slot = slotOf(0, currentSecond);
+            if (slot.isEmpty()) continue;
+            for (String jobId : slot) {
+                Long deadline = deadlines.get(jobId);
+                if (deadline != null && deadline <= currentSecond) {
+                    deadlines.remove(jobId);
+                    due.add(jobId);
+                }
+            }
+            slot.clear();
+        }
+        return due;
+    }
+
+    /**
+     * Trả lại các Job đã lấy ra bởi advance nhưng đóng không thành công -> lần advance kế tiếp thử lại.
+     * Job đã được xếp lịch lại trong lúc đó (deadline mới) thì giữ lịch mới.
+     */
+    public synchronized void retry(Collection<String> jobIds) {
+        for (String jobId : jobIds) {
+            if (!deadlines.containsKey(jobId)) overdue.add(jobId);
+        }
+    }
+
+    @Override
+    public synchronized void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        schedule(current);
+    }
+
+    @Override
+    public synchronized void onRemoved(JobSearchDocument removed) {
+        cancel(removed.getId());
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        synchronized (this) {
+            for (List<Set<String>> wheel : wheels) wheel.forEach(Set::clear);
+            deadlines.clear();
+            overdue.clear();
+            currentSecond = Instant.now().getEpochSecond();
+            documents.forEach(this::schedule);
+            ready = true;
+        }
+        log.info("Job expiry wheel loaded {} deadlines ({} already overdue)", deadlines.size(), overdue.size());
+    }
+
+    private void schedule(JobSearchDocument doc) {
+        cancel(doc.getId());
+        if (doc.getStatus() != JobStatus.OPEN || doc.getDeadline() == null) return;
+
+        long deadline = doc.getDeadline().getEpochSecond();
+        if (deadline <= currentSecond) {
+            overdue.add(doc.getId());
+            return;
+        }
+        deadlines.put(doc.getId(), deadline);
+        place(doc.getId(), deadline, null);
+    }
+
+    // Bản ghi trong ô được để lại (lazy): advance bỏ qua khi deadlines không còn khớp
+    private void cancel(String jobId) {
+        deadlines.remove(jobId);
+        overdue.remove(jobId);
+    }
+
+    private void place(String jobId, long deadline, List<String> due) {
+        if (deadline <= currentSecond) {
+            deadlines.remove(jobId);
+            due.add(jobId);
+            return;
+        }
+        for (int level = 0; level < SLOTS.length; level++) {
+            if (deadline / SPANS[level] - currentSecond / SPANS[level] < SLOTS[level]) {
+                slotOf(level, deadline).add(jobId);
+                return;
+            }
+        }
+        // Xa hơn tầng cao nhất: đặt ở ô xa nhất, được xếp lại khi kim tới ô đó
+        int top = SLOTS.length - 1;
+        slotOf(top, (currentSecond / SPANS[top] + SLOTS[top] - 1) * SPANS[top]).add(jobId);
+    }
+
+    private Set<String> slotOf(int level, long second) {
+        return wheels.get(level).get((int) (second / SPANS[level] % SLOTS[level]));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.server.search;
+
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Phát hiện tin tuyển dụng gần trùng (đăng lại với vài chỉnh sửa nhỏ) trong cùng 1 công ty.
+ * Mentor Note: SimHash 64 bit trên các từ của title (trọng số cao), của description và companyId.
+ * 2 tin gần giống nhau -> fingerprint chỉ khác vài bit (khoảng cách Hamming nhỏ). Dùng từ đơn thay vì
+ * cặp từ: sửa 1 chữ chỉ đổi 1-2 feature nên fingerprint ổn định hơn với chỉnh sửa nhỏ.
+ * Tra cứu qua FingerprintBuckets (4 band x 16 bit theo companyId), không quét.
+ * Chỉ index Job chưa CLOSED: đăng lại 1 tin đã đóng là hợp lệ.
+ */
+@Slf4j
+@Component
+public class JobFingerprintIndex implements JobIndexListener {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_TOKENS = 1000;
+
+    private final int maxDistance;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FingerprintBuckets buckets;
+
+    private volatile boolean ready;
+
+    public JobFingerprintIndex(@Value("${app.jobs.duplicate.max-distance:3}") int maxDistance) {
+        // > BANDS - 1 thì banding không còn đảm bảo tìm thấy -> giới hạn lại
+        this.maxDistance = Math.max(0, Math.min(maxDistance, FingerprintBuckets.BANDS - 1));
+        this.buckets = new FingerprintBuckets(this.maxDistance);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Bucket rỗng cùng ngưỡng khoảng cách, không đồng bộ - cho trùng lặp trong phạm vi 1 lần import.
+     */
+    public FingerprintBuckets newLocalBuckets() {
+        return new FingerprintBuckets(maxDistance);
+    }
+
+    /**
+     * SimHash của nội dung tin (cùng công thức khi index và khi kiểm tra lúc tạo mới).
+     */
+    public static long fingerprint(String companyId, String title, String description) {
+        int[] votes = new int[Long.SIZE];
+        for (String token : ContentHashing.tokens(title)) {
+            vote(votes, ContentHashing.fnv("t:" + token), TITLE_WEIGHT);
+        }
+        String[] tokens = ContentHashing.tokens(description);
+        int limit = Math.min(tokens.length, MAX_TOKENS);
+        for (int i = 0; i < limit; i++) {
+            vote(votes, ContentHashing.fnv(tokens[i]), 1);
+        }
+        if (companyId != null) vote(votes, ContentHashing.fnv("c:" + companyId), 1);
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) fingerprint |= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Job (chưa CLOSED) cùng công ty có nội dung gần trùng, nếu có.
+     */
+    public Optional<String> findDuplicate(String companyId, long fingerprint) {
+        lock.readLock().lock();
+        try {
+            return buckets.findDuplicate(companyId, fingerprint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        lock.writeLock().lock();
+        try {
+            buckets.remove(current.getId());
+            add(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemoved(JobSearchDocument removed) {
+        lock.writeLock().lock();
+        try {
+            buckets.remove(removed.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        int size;
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            documents.forEach(this::add);
+            size = buckets.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job fingerprint index loaded {} jobs", size);
+    }
+
+    private void add(JobSearchDocument doc) {
+        if (doc.getStatus() == JobStatus.CLOSED || doc.getCompanyId() == null) return;
+        buckets.add(doc.getId(), doc.getCompanyId(), fingerprint(doc.getCompanyId(), doc.getTitle(), doc.getDescription()));
+    }
+
+    private static void vote(int[] votes, long featureHash, int weight) {
+        long hash = ContentHashing.mix(featureHash);
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            votes[bit] += (hash >>> bit & 1) != 0 ? weight : -weight;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.server.search;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.example.server.model.JobSearchDocument;
+
+/**
+ * Extension point cho các index/cache in-memory cần đồng bộ với read model "job_search".
+ * Mentor Note: JobSearchIndexer gọi các hook này sau khi ghi read model thành công,
+ * nên mọi mutation đi qua JobService đều tự động lan tới tất cả index.
+ */
+public interface JobIndexListener {
+
+    /**
+     * Job được tạo hoặc cập nhật.
+     * @param previous bản cũ trong read model (null nếu là Job mới)
+     * @param current  bản mới vừa được ghi
+     */
+    void onIndexed(JobSearchDocument previous, JobSearchDocument current);
+
+    /**
+     * Nhiều Job mới được tạo cùng lúc (bulk import).
+     * Mặc định gọi onIndexed từng Job; index có chi phí cố định mỗi lần ghi (refresh, round trip DB)
+     * nên override để gom lại 1 lần.
+     */
+    default void onIndexedAll(List<JobSearchDocument> created) {
+        for (JobSearchDocument current : created) {
+            onIndexed(null, current);
+        }
+    }
+
+    /** Job bị xóa khỏi read model (removed = bản cuối cùng trước khi xóa). */
+    void onRemoved(JobSearchDocument removed);
+
+    /** Nạp lại toàn bộ từ read model (gọi lúc khởi động). */
+    void rebuild(Stream<JobSearchDocument> documents);
+}
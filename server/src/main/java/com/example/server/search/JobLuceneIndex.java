@@ -0,0 +1,519 @@
+package com.example.server.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.geo.GeoUtils;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.model.JobSearchDocument;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Full-text index (Lucene, in-process) cho keyword search, xếp hạng theo BM25.
+ * Mentor Note: Thay cho regex không neo (không dùng được index) trên title/description.
+ * Lucene trả về danh sách ID đã xếp hạng + tổng số kết quả, sau đó JobService hydrate từ MongoDB.
+ * Index được cập nhật near-real-time qua JobIndexListener mỗi khi Job thay đổi.
+ * Gõ sai chính tả ("devloper"): khi khớp chính xác quá ít kết quả, tự chuyển sang fuzzy (xem buildFuzzyQuery).
+ * Keyword + bán kính: lọc bằng LatLonPoint ngay trong Lucene và xếp theo khoảng cách (giống $nearSphere).
+ */
+@Slf4j
+@Component
+@org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE) // Cập nhật trước JobSearchCache (xem JobSearchCache)
+public class JobLuceneIndex implements JobIndexListener {
+
+    static final String ID = "id";
+    static final String ALL = "all"; // Gộp mọi field text - dùng để bắt buộc khớp đủ các từ khóa
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String TAGS = "tags";
+    static final String TAG_KEY = "tagKey"; // Tag nguyên vẹn (đã fold) - chỉ dùng để lọc chính xác
+    static final String CITY = "city";
+    static final String CATEGORY = "category";
+    // City/category nguyên vẹn (đã fold) - lọc theo prefix giống cityFolded/categoryNameFolded của MongoDB
+    static final String CITY_KEY = "cityKey";
+    static final String CATEGORY_KEY = "categoryKey";
+    static final String STATUS = "status";
+    static final String EMPLOYMENT_TYPE = "employmentType";
+    static final String SALARY_MIN = "salaryMin";
+    static final String SALARY_MAX = "salaryMax";
+    static final String MIN_EXPERIENCE = "minExperience";
+    static final String CREATED_AT = "createdAt";
+    static final String POSITION = "position";
+
+    // Relevance trước, cùng điểm thì tin mới hơn lên trước
+    private static final Sort RELEVANCE_SORT = new Sort(
+        SortField.FIELD_SCORE,
+        new SortField(CREATED_AT, SortField.Type.LONG, true)
+    );
+
+    // Thứ tự của keyset pagination: (createdAt, id) giảm dần - giống hệt MongoDB
+    private static final Sort KEYSET_SORT = new Sort(
+        new SortField(CREATED_AT, SortField.Type.LONG, true),
+        new SortField(ID, SortField.Type.STRING, true)
+    );
+
+    // Fuzzy: sửa tối đa 1 lỗi với từ 3-5 ký tự, 2 lỗi với từ dài hơn; từ ngắn hơn phải khớp chính xác
+    private static final int FUZZY_ONE_EDIT_MIN_LENGTH = 3;
+    private static final int FUZZY_TWO_EDITS_MIN_LENGTH = 6;
+    // Ký tự đầu phải đúng: automaton chỉ duyệt 1 nhánh của term dictionary thay vì toàn bộ
+    private static final int FUZZY_PREFIX_LENGTH = 1;
+    // Số term gần đúng nhất được giữ lại cho mỗi từ khóa (chặn số clause khi rewrite)
+    private static final int FUZZY_MAX_EXPANSIONS = 50;
+
+    private final Analyzer analyzer = new JobTextAnalyzer();
+    private final QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private volatile boolean ready = false;
+
+    // Khớp chính xác ít hơn ngưỡng này -> chạy lại bằng fuzzy (0 = tắt fuzzy)
+    @Value("${app.search.fuzzy.min-hits:3}")
+    private int fuzzyMinHits;
+
+    public JobLuceneIndex() {
+        try {
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), config);
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Index đã nạp xong dữ liệu lúc khởi động chưa (chưa xong thì search fallback về MongoDB). */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Lucene chỉ xếp theo relevance (+ createdAt), các kiểu sort khác để MongoDB xử lý.
+     */
+    public boolean supports(Pageable pageable) {
+        for (Order order : pageable.getSort()) {
+            if (!CREATED_AT.equals(order.getProperty())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tìm kiếm và trả về 1 trang Job ID theo thứ tự BM25, kèm tổng số kết quả.
+     */
+    public Page<String> search(JobSearchRequest request, Pageable pageable) {
+        Query query = buildQuery(request);
+        int offset = (int) pageable.getOffset();
+        int limit = offset + pageable.getPageSize();
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            Sort sort = pageSort(request);
+            TopFieldDocs topDocs = searcher.search(query, Math.max(limit, 1), sort, false);
+            long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(query);
+
+            // Đường phổ biến (đủ kết quả) không tốn thêm gì; chỉ query gần như rỗng mới chạy fuzzy
+            if (shouldTryFuzzy(request, total)) {
+                Query fuzzy = buildFuzzyQuery(request);
+                TopFieldDocs fuzzyDocs = searcher.search(fuzzy, Math.max(limit, 1), sort, false);
+                long fuzzyTotal = fuzzyDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? fuzzyDocs.totalHits.value
+                        : searcher.count(fuzzy);
+                if (fuzzyTotal > total) {
+                    topDocs = fuzzyDocs;
+                    total = fuzzyTotal;
+                }
+            }
+
+            List<String> ids = new ArrayList<>(pageable.getPageSize());
+            StoredFields storedFields = searcher.storedFields();
+            ScoreDoc[] hits = topDocs.scoreDocs;
+            for (int i = offset; i < hits.length; i++) {
+                ids.add(storedFields.document(hits[i].doc, Set.of(ID)).get(ID));
+            }
+            return new PageImpl<>(ids, pageable, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Keyset pagination: lấy tối đa `limit` Job ID đứng sau cursor theo (createdAt, id) giảm dần.
+     */
+    public List<String> searchAfter(JobSearchRequest request, JobSearchCursor after, int limit) {
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            Query query = resolveQuery(searcher, request);
+            TopFieldDocs topDocs;
+            if (after == null) {
+                topDocs = searcher.search(query, limit, KEYSET_SORT, false);
+            } else {
+                // (createdAt, id) là duy nhất, doc = maxDoc - 1 để chính Job ở cursor không bị lặp lại
+                FieldDoc position = new FieldDoc(searcher.getIndexReader().maxDoc() - 1, Float.NaN,
+                    new Object[] { after.createdAt().toEpochMilli(), new BytesRef(after.id()) });
+                topDocs = searcher.searchAfter(position, query, limit, KEYSET_SORT, false);
+            }
+
+            List<String> ids = new ArrayList<>(topDocs.scoreDocs.length);
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc hit : topDocs.scoreDocs) {
+                ids.add(storedFields.document(hit.doc, Set.of(ID)).get(ID));
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public long count(JobSearchRequest request) {
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            return searcher.count(resolveQuery(searcher, request));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // maybeRefreshBlocking: maybeRefresh() trả về ngay nếu thread khác đang refresh -> thay đổi này có thể
+    // chưa hiển thị cho tới lần ghi kế tiếp. Chờ refresh xong để search ngay sau khi ghi thấy được dữ liệu mới.
+    @Override
+    public void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        try {
+            writer.updateDocument(new Term(ID, current.getId()), toLuceneDocument(current));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Bulk import: 1 lần refresh searcher cho cả lô thay vì mỗi Job
+    @Override
+    public void onIndexedAll(List<JobSearchDocument> created) {
+        try {
+            for (JobSearchDocument current : created) {
+                writer.updateDocument(new Term(ID, current.getId()), toLuceneDocument(current));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onRemoved(JobSearchDocument removed) {
+        try {
+            writer.deleteDocuments(new Term(ID, removed.getId()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        try {
+            writer.deleteAll();
+            documents.forEach(doc -> {
+                try {
+                    writer.updateDocument(new Term(ID, doc.getId()), toLuceneDocument(doc));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        ready = false;
+        searcherManager.close();
+        writer.close();
+    }
+
+    // --- Query Building ---
+
+    /**
+     * Query chính xác, hoặc fuzzy nếu query chính xác có quá ít kết quả và fuzzy tìm được nhiều hơn.
+     * Cùng 1 request luôn ra cùng 1 query (quyết định dựa trên tổng số, không phụ thuộc trang/cursor).
+     */
+    private Query resolveQuery(IndexSearcher searcher, JobSearchRequest request) throws IOException {
+        Query exact = buildQuery(request);
+        long total = searcher.count(exact);
+        if (!shouldTryFuzzy(request, total)) return exact;
+        Query fuzzy = buildFuzzyQuery(request);
+        return searcher.count(fuzzy) > total ? fuzzy : exact;
+    }
+
+    // Có bán kính: gần nhất trước (cùng thứ tự với $nearSphere trên MongoDB), cùng khoảng cách thì theo relevance
+    private Sort pageSort(JobSearchRequest request) {
+        if (!JobSearchFilters.hasGeo(request)) return RELEVANCE_SORT;
+        return new Sort(LatLonDocValuesField.newDistanceSort(POSITION, request.lat(), request.lon()), SortField.FIELD_SCORE);
+    }
+
+    private boolean shouldTryFuzzy(JobSearchRequest request, long exactHits) {
+        return fuzzyMinHits > 0 && exactHits < fuzzyMinHits && StringUtils.hasText(request.keyword());
+    }
+
+    /**
+     * Mỗi từ khóa phải khớp (chính xác ở bất kỳ field nào) hoặc (gần đúng ở title/tags).
+     * Mentor Note: FuzzyQuery của Lucene dựng Levenshtein automaton cho từng từ rồi giao với term dictionary
+     * (FST) - không duyệt từng document, nên chi phí phụ thuộc số term chứ không phụ thuộc số Job.
+     * Prefix cố định + maxExpansions giới hạn số term ứng viên. Các clause chính xác vẫn được boost
+     * như query thường để kết quả khớp đúng chính tả đứng trước.
+     */
+    private Query buildFuzzyQuery(JobSearchRequest request) {
+        List<String> terms = analyze(request.keyword());
+        if (terms.isEmpty()) return new MatchNoDocsQuery();
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(ALL, term)), Occur.SHOULD);
+            int maxEdits = maxEdits(term);
+            if (maxEdits > 0) {
+                anyField.add(new BoostQuery(fuzzy(TITLE, term, maxEdits), 2f), Occur.SHOULD);
+                anyField.add(fuzzy(TAGS, term, maxEdits), Occur.SHOULD);
+            }
+            builder.add(anyField.build(), Occur.MUST);
+        }
+        addBoosted(builder, TITLE, request.keyword(), 4f);
+        addBoosted(builder, TAGS, request.keyword(), 3f);
+        addFilters(builder, request);
+        return builder.build();
+    }
+
+    private Query fuzzy(String field, String term, int maxEdits) {
+        return new FuzzyQuery(new Term(field, term), maxEdits, FUZZY_PREFIX_LENGTH, FUZZY_MAX_EXPANSIONS, true);
+    }
+
+    private int maxEdits(String term) {
+        int length = term.codePointCount(0, term.length());
+        if (length >= FUZZY_TWO_EDITS_MIN_LENGTH) return 2;
+        return length >= FUZZY_ONE_EDIT_MIN_LENGTH ? 1 : 0;
+    }
+
+    // Tách keyword bằng cùng analyzer lúc index (lower-case, bỏ dấu)
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Query buildQuery(JobSearchRequest request) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        if (StringUtils.hasText(request.keyword())) {
+            String keyword = request.keyword();
+            // Bắt buộc mọi từ khóa xuất hiện ở ít nhất 1 field
+            Query required = queryBuilder.createBooleanQuery(ALL, keyword, Occur.MUST);
+            if (required == null) return new MatchNoDocsQuery(); // Keyword chỉ gồm ký tự đặc biệt
+            builder.add(required, Occur.MUST);
+
+            // Các clause SHOULD chỉ dùng để tăng điểm theo field (title quan trọng nhất)
+            addBoosted(builder, TITLE, keyword, 4f);
+            addBoosted(builder, TAGS, keyword, 3f);
+            addBoosted(builder, CATEGORY, keyword, 2f);
+            addBoosted(builder, CITY, keyword, 1.5f);
+            addBoosted(builder, DESCRIPTION, keyword, 1f);
+        } else {
+            builder.add(new MatchAllDocsQuery(), Occur.MUST);
+        }
+
+        addFilters(builder, request);
+        return builder.build();
+    }
+
+    // Filters: không ảnh hưởng điểm BM25
+    private void addFilters(BooleanQuery.Builder builder, JobSearchRequest request) {
+        if (request.status() != null) {
+            builder.add(new TermQuery(new Term(STATUS, request.status().name())), Occur.FILTER);
+        }
+        if (request.jobType() != null) {
+            builder.add(new TermQuery(new Term(EMPLOYMENT_TYPE, request.jobType().name())), Occur.FILTER);
+        }
+        if (request.minSalary() != null) {
+            builder.add(DoublePoint.newRangeQuery(SALARY_MAX, request.minSalary(), Double.POSITIVE_INFINITY), Occur.FILTER);
+        }
+        if (request.maxSalary() != null) {
+            builder.add(DoublePoint.newRangeQuery(SALARY_MIN, Double.NEGATIVE_INFINITY, request.maxSalary()), Occur.FILTER);
+        }
+        if (request.minExperience() != null) {
+            builder.add(IntPoint.newRangeQuery(MIN_EXPERIENCE, Integer.MIN_VALUE, request.minExperience()), Occur.FILTER);
+        }
+        addPrefixFilter(builder, CITY_KEY, request.locationCity());
+        addPrefixFilter(builder, CATEGORY_KEY, request.categoryName());
+        addTagFilter(builder, request);
+        if (JobSearchFilters.hasGeo(request)) {
+            builder.add(LatLonPoint.newDistanceQuery(POSITION, request.lat(), request.lon(), radiusMeters(request)), Occur.FILTER);
+        }
+    }
+
+    // Cùng góc bán kính với $centerSphere (km / EARTH_RADIUS_KM), quy ra mét theo bán kính Trái Đất của Lucene
+    private static double radiusMeters(JobSearchRequest request) {
+        return JobSearchFilters.radiusKm(request) / JobSearchFilters.EARTH_RADIUS_KM * GeoUtils.EARTH_MEAN_RADIUS_METERS;
+    }
+
+    private void addBoosted(BooleanQuery.Builder builder, String field, String text, float boost) {
+        Query query = queryBuilder.createBooleanQuery(field, text);
+        if (query != null) builder.add(new BoostQuery(query, boost), Occur.SHOULD);
+    }
+
+    // Prefix không dấu trên cả chuỗi ("ha n" khớp "Hà Nội", "noi" thì không) - cùng kết quả với MongoDB/JobCatalog
+    private void addPrefixFilter(BooleanQuery.Builder builder, String field, String text) {
+        String prefix = TextNormalizer.fold(text);
+        if (prefix == null) return;
+        builder.add(new PrefixQuery(new Term(field, prefix)), Occur.FILTER);
+    }
+
+    private void addTagFilter(BooleanQuery.Builder builder, JobSearchRequest request) {
+        List<String> tags = JobSearchFilters.tags(request);
+        if (tags.isEmpty()) return;
+        if (!JobSearchFilters.matchAnyTag(request)) {
+            tags.forEach(tag -> builder.add(new TermQuery(new Term(TAG_KEY, tag)), Occur.FILTER));
+            return;
+        }
+        BooleanQuery.Builder any = new BooleanQuery.Builder();
+        tags.forEach(tag -> any.add(new TermQuery(new Term(TAG_KEY, tag)), Occur.SHOULD));
+        builder.add(any.build(), Occur.FILTER);
+    }
+
+    // --- Document Mapping ---
+
+    private Document toLuceneDocument(JobSearchDocument job) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, job.getId(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(ID, new BytesRef(job.getId())));
+
+        addText(doc, TITLE, job.getTitle());
+        addText(doc, DESCRIPTION, job.getDescription());
+        addText(doc, CITY, job.getCity());
+        addText(doc, CATEGORY, job.getCategoryName());
+        addKey(doc, CITY_KEY, job.getCityFolded());
+        addKey(doc, CATEGORY_KEY, job.getCategoryNameFolded());
+        if (job.getTags() != null) {
+            job.getTags().forEach(tag -> addText(doc, TAGS, tag));
+        }
+        if (job.getTagsFolded() != null) {
+            job.getTagsFolded().forEach(tag -> doc.add(new StringField(TAG_KEY, tag, Field.Store.NO)));
+        }
+
+        if (job.getStatus() != null) {
+            doc.add(new StringField(STATUS, job.getStatus().name(), Field.Store.NO));
+        }
+        if (job.getEmploymentType() != null) {
+            doc.add(new StringField(EMPLOYMENT_TYPE, job.getEmploymentType().name(), Field.Store.NO));
+        }
+        if (job.getSalaryMin() != null) {
+            doc.add(new DoublePoint(SALARY_MIN, job.getSalaryMin()));
+        }
+        if (job.getSalaryMax() != null) {
+            doc.add(new DoublePoint(SALARY_MAX, job.getSalaryMax()));
+        }
+        if (job.getMinExperience() != null) {
+            doc.add(new IntPoint(MIN_EXPERIENCE, job.getMinExperience()));
+        }
+        if (job.getPosition() != null) {
+            // GeoJSON: x = kinh độ, y = vĩ độ
+            doc.add(new LatLonPoint(POSITION, job.getPosition().getY(), job.getPosition().getX()));
+            doc.add(new LatLonDocValuesField(POSITION, job.getPosition().getY(), job.getPosition().getX()));
+        }
+        doc.add(new NumericDocValuesField(CREATED_AT,
+            job.getCreatedAt() != null ? job.getCreatedAt().toEpochMilli() : 0L));
+        return doc;
+    }
+
+    private void addText(Document doc, String field, String value) {
+        if (!StringUtils.hasText(value)) return;
+        doc.add(new TextField(field, value, Field.Store.NO));
+        doc.add(new TextField(ALL, value, Field.Store.NO));
+    }
+
+    private void addKey(Document doc, String field, String folded) {
+        if (folded == null) return;
+        doc.add(new StringField(field, folded, Field.Store.NO));
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) return;
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release Lucene searcher", e);
+        }
+    }
+}
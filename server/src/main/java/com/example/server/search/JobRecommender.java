@@ -0,0 +1,332 @@
+package com.example.server.search;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.Experience;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobSeekerProfile;
+import com.example.server.model.JobStatus;
+import com.example.server.model.Skill;
+import com.example.server.model.SkillCategory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Engine gợi ý việc làm: so khớp vector thưa (sparse) của Job Seeker với vector của các Job OPEN.
+ * Mentor Note: Mỗi đặc trưng là 1 chuỗi "tag:java" / "term:backend" được cấp 1 int id.
+ * - Job: tag (1.0), từ trong title (0.5) và category (0.4).
+ * - Seeker: skill -> tag (theo SkillCategory), từ trong position các Experience + professionalTitle -> term (0.5).
+ * Cả 2 vector chuẩn hóa L2 nên điểm = cosine. Thay vì nhân chéo mọi Seeker x mọi Job, engine giữ
+ * inverted index đặc trưng -> Job: chỉ Job có chung ít nhất 1 đặc trưng mới được chấm điểm,
+ * top-K lấy bằng min-heap kích thước K (O(n log K)). Điểm nhân thêm hệ số kinh nghiệm (minExperience).
+ * Inverted index phía Seeker dùng để biết Seeker nào cần tính lại khi 1 Job thay đổi.
+ */
+@Slf4j
+@Component
+public class JobRecommender implements JobIndexListener {
+
+    private static final float TAG_WEIGHT = 1.0f;
+    private static final float TITLE_WEIGHT = 0.5f;
+    private static final float CATEGORY_WEIGHT = 0.4f;
+    private static final float POSITION_WEIGHT = 0.5f;
+    // Thiếu 1 năm kinh nghiệm so với yêu cầu -> trừ 15% điểm, tối đa trừ 60%
+    private static final double EXPERIENCE_PENALTY_PER_YEAR = 0.15;
+    private static final double MIN_EXPERIENCE_FACTOR = 0.4;
+
+    /** Vector thưa đã chuẩn hóa L2: features tăng dần, weights cùng vị trí. */
+    public record SparseVector(int[] features, float[] weights) {
+        static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+        public boolean isEmpty() {
+            return features.length == 0;
+        }
+    }
+
+    /** Đặc trưng của 1 Seeker: vector + tổng số năm kinh nghiệm. */
+    public record SeekerVector(SparseVector vector, int years) {}
+
+    public record ScoredJob(String jobId, double score) {}
+
+    private record JobEntry(String id, SparseVector vector, int minExperience) {}
+
+    private final Map<String, Integer> dictionary = new ConcurrentHashMap<>();
+    private final AtomicInteger nextFeature = new AtomicInteger();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, JobEntry> jobs = new HashMap<>();
+    // feature -> (jobId -> weight)
+    private final Map<Integer, Map<String, Float>> jobPostings = new HashMap<>();
+    private final Map<String, SparseVector> seekers = new HashMap<>();
+    // feature -> userId
+    private final Map<Integer, Set<String>> seekerPostings = new HashMap<>();
+
+    // Đặc trưng của các Job vừa thay đổi, chờ lần refresh incremental tiếp theo
+    private final Set<Integer> dirtyFeatures = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== JobIndexListener ====================
+
+    @Override
+    public void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        lock.writeLock().lock();
+        try {
+            JobEntry removed = removeJob(current.getId());
+            if (removed != null) markDirty(removed.vector());
+            JobEntry added = addJob(current);
+            if (added != null) markDirty(added.vector());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemoved(JobSearchDocument removed) {
+        lock.writeLock().lock();
+        try {
+            JobEntry entry = removeJob(removed.getId());
+            if (entry != null) markDirty(entry.vector());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            jobs.clear();
+            jobPostings.clear();
+            documents.forEach(this::addJob);
+            dirtyFeatures.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job recommender loaded {} open jobs, {} features", jobs.size(), dictionary.size());
+    }
+
+    // ==================== Seekers ====================
+
+    /**
+     * Vector của Seeker từ Skill + Experience + professionalTitle của profile.
+     */
+    public SeekerVector seekerVector(JobSeekerProfile profile, List<Skill> skills, List<Experience> experiences) {
+        Map<Integer, Float> weights = new HashMap<>();
+        for (Skill skill : skills) {
+            String tag = TextNormalizer.fold(skill.getName());
+            if (tag != null && !tag.isBlank()) put(weights, "tag:" + tag.trim(), skillWeight(skill.getCategory()));
+        }
+        for (Experience experience : experiences) {
+            putTerms(weights, experience.getPosition(), POSITION_WEIGHT);
+        }
+        if (profile != null) putTerms(weights, profile.getProfessionalTitle(), POSITION_WEIGHT);
+        return new SeekerVector(normalize(weights), yearsOf(experiences));
+    }
+
+    /**
+     * Ghi nhận vector hiện tại của Seeker (để lan thay đổi Job tới đúng Seeker).
+     */
+    public void putSeeker(String userId, SparseVector vector) {
+        lock.writeLock().lock();
+        try {
+            SparseVector old = seekers.put(userId, vector);
+            if (old != null) {
+                for (int feature : old.features()) {
+                    Set<String> users = seekerPostings.get(feature);
+                    if (users != null && users.remove(userId) && users.isEmpty()) seekerPostings.remove(feature);
+                }
+            }
+            for (int feature : vector.features()) {
+                seekerPostings.computeIfAbsent(feature, f -> new HashSet<>()).add(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Seeker có chung đặc trưng với các Job đã thay đổi kể từ lần gọi trước (xóa luôn danh sách chờ).
+     */
+    public Set<String> drainAffectedSeekers() {
+        if (dirtyFeatures.isEmpty()) return Set.of();
+        List<Integer> features = new ArrayList<>(dirtyFeatures);
+        dirtyFeatures.removeAll(features);
+
+        Set<String> affected = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (int feature : features) {
+                Set<String> users = seekerPostings.get(feature);
+                if (users != null) affected.addAll(users);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return affected;
+    }
+
+    /**
+     * Top-K Job OPEN phù hợp nhất với Seeker (điểm giảm dần).
+     */
+    public List<ScoredJob> recommend(SeekerVector seeker, int k) {
+        if (seeker.vector().isEmpty() || k <= 0) return List.of();
+
+        Map<String, Double> dots = new HashMap<>();
+        PriorityQueue<ScoredJob> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(ScoredJob::score));
+        lock.readLock().lock();
+        try {
+            // Chỉ Job có chung đặc trưng mới được cộng điểm (thay cho cross product)
+            SparseVector vector = seeker.vector();
+            for (int i = 0; i < vector.features().length; i++) {
+                Map<String, Float> postings = jobPostings.get(vector.features()[i]);
+                if (postings == null) continue;
+                float weight = vector.weights()[i];
+                for (Map.Entry<String, Float> posting : postings.entrySet()) {
+                    dots.merge(posting.getKey(), (double) weight * posting.getValue(), Double::sum);
+                }
+            }
+
+            for (Map.Entry<String, Double> dot : dots.entrySet()) {
+                JobEntry job = jobs.get(dot.getKey());
+                double score = dot.getValue() * experienceFactor(seeker.years(), job.minExperience());
+                if (heap.size() < k) {
+                    heap.add(new ScoredJob(job.id(), score));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new ScoredJob(job.id(), score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredJob> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(ScoredJob::score).reversed());
+        return result;
+    }
+
+    // ==================== Internals ====================
+
+    private JobEntry addJob(JobSearchDocument doc) {
+        if (doc.getStatus() != JobStatus.OPEN) return null;
+
+        Map<Integer, Float> weights = new HashMap<>();
+        if (doc.getTagsFolded() != null) {
+            for (String tag : doc.getTagsFolded()) {
+                if (!tag.isBlank()) put(weights, "tag:" + tag.trim(), TAG_WEIGHT);
+            }
+        }
+        putTerms(weights, doc.getTitle(), TITLE_WEIGHT);
+        putTerms(weights, doc.getCategoryName(), CATEGORY_WEIGHT);
+        SparseVector vector = normalize(weights);
+        if (vector.isEmpty()) return null;
+
+        JobEntry entry = new JobEntry(doc.getId(), vector,
+                doc.getMinExperience() != null ? doc.getMinExperience() : 0);
+        jobs.put(entry.id(), entry);
+        for (int i = 0; i < vector.features().length; i++) {
+            jobPostings.computeIfAbsent(vector.features()[i], f -> new HashMap<>()).put(entry.id(), vector.weights()[i]);
+        }
+        return entry;
+    }
+
+    private JobEntry removeJob(String jobId) {
+        JobEntry entry = jobs.remove(jobId);
+        if (entry == null) return null;
+        for (int feature : entry.vector().features()) {
+            Map<String, Float> postings = jobPostings.get(feature);
+            if (postings != null && postings.remove(jobId) != null && postings.isEmpty()) jobPostings.remove(feature);
+        }
+        return entry;
+    }
+
+    private void markDirty(SparseVector vector) {
+        if (!ready) return;
+        for (int feature : vector.features()) dirtyFeatures.add(feature);
+    }
+
+    private void putTerms(Map<Integer, Float> weights, String text, float weight) {
+        String folded = TextNormalizer.fold(text);
+        if (folded == null) return;
+        for (String token : folded.split("[^\\p{Alnum}+#]+")) {
+            if (token.length() >= 2) put(weights, "term:" + token, weight);
+        }
+    }
+
+    // Cùng đặc trưng xuất hiện nhiều lần -> giữ trọng số lớn nhất (không cộng dồn)
+    private void put(Map<Integer, Float> weights, String feature, float weight) {
+        weights.merge(dictionary.computeIfAbsent(feature, f -> nextFeature.getAndIncrement()), weight, Math::max);
+    }
+
+    private static SparseVector normalize(Map<Integer, Float> weights) {
+        if (weights.isEmpty()) return SparseVector.EMPTY;
+        int[] features = weights.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] values = new float[features.length];
+        double norm = 0;
+        for (int i = 0; i < features.length; i++) {
+            values[i] = weights.get(features[i]);
+            norm += values[i] * values[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < values.length; i++) values[i] *= scale;
+        return new SparseVector(features, values);
+    }
+
+    private static float skillWeight(SkillCategory category) {
+        if (category == null) return 0.8f;
+        return switch (category) {
+            case TECHNICAL_SKILL -> 1.0f;
+            case LANGUAGE -> 0.6f;
+            case SOFT_SKILL -> 0.4f;
+        };
+    }
+
+    private static double experienceFactor(int years, int required) {
+        if (years >= required) return 1.0;
+        return Math.max(MIN_EXPERIENCE_FACTOR, 1 - EXPERIENCE_PENALTY_PER_YEAR * (required - years));
+    }
+
+    /**
+     * Tổng số năm kinh nghiệm (Experience đang làm tính tới hôm nay; khoảng chồng lấn không gộp).
+     */
+    static int yearsOf(Collection<Experience> experiences) {
+        LocalDate today = LocalDate.now();
+        long months = 0;
+        for (Experience experience : experiences) {
+            if (experience.getStartDate() == null) continue;
+            LocalDate end = Boolean.TRUE.equals(experience.getIsCurrent()) || experience.getEndDate() == null
+                    ? today : experience.getEndDate();
+            if (end.isAfter(experience.getStartDate())) months += ChronoUnit.MONTHS.between(experience.getStartDate(), end);
+        }
+        return (int) (months / 12);
+    }
+}
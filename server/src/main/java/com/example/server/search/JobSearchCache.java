@@ -0,0 +1,114 @@
+package com.example.server.search;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.model.JobSearchDocument;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache in-process cho kết quả search: (request đã chuẩn hóa + phân trang) -> trang Job ID + tổng.
+ * Mentor Note: Traffic public chủ yếu lặp lại vài tổ hợp filter nên cache hit rate rất cao.
+ * Giới hạn theo size + TTL; mỗi mutation chỉ xóa các entry có thể bị ảnh hưởng.
+ * Thống kê hit/miss/eviction có ở actuator: /actuator/metrics/cache.gets?tag=cache:jobSearch
+ * Chạy sau JobLuceneIndex/JobCatalog (@Order) để khi cache bị xóa thì các index nguồn đã thấy thay đổi.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class JobSearchCache implements JobIndexListener {
+
+    private record Key(JobSearchRequest request, long offset, int size, Sort sort) {}
+
+    private record Entry(List<String> ids, long total) {}
+
+    private final Cache<Key, Entry> cache;
+
+    // Tăng mỗi khi có mutation: kết quả tính trước mutation không được ghi vào cache nữa
+    private final AtomicLong generation = new AtomicLong();
+
+    public JobSearchCache(
+            @Value("${app.search.cache.max-size:10000}") long maxSize,
+            @Value("${app.search.cache.ttl:60s}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jobSearch");
+    }
+
+    /**
+     * Lấy trang Job ID từ cache, nếu miss thì gọi loader và lưu lại kết quả.
+     */
+    public Page<String> get(JobSearchRequest request, Pageable pageable, Supplier<Page<String>> loader) {
+        Key key = new Key(JobSearchFilters.normalize(request), pageable.getOffset(), pageable.getPageSize(), pageable.getSort());
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new PageImpl<>(cached.ids(), pageable, cached.total());
+        }
+
+        long startGeneration = generation.get();
+        Page<String> page = loader.get();
+        if (generation.get() == startGeneration) {
+            Entry entry = new Entry(List.copyOf(page.getContent()), page.getTotalElements());
+            cache.put(key, entry);
+            // Kiểm tra lại sau khi put: mutation chen vào giữa lần kiểm tra trên và put có thể đã quét
+            // cache trước khi entry này xuất hiện -> tự gỡ. Mutation sau lần kiểm tra này thì chắc chắn
+            // thấy entry khi quét (tăng generation trước rồi mới quét).
+            if (generation.get() != startGeneration) cache.asMap().remove(key, entry);
+        }
+        return page;
+    }
+
+    @Override
+    public void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        generation.incrementAndGet();
+        invalidate(current.getId(), previous, current);
+    }
+
+    @Override
+    public void onRemoved(JobSearchDocument removed) {
+        generation.incrementAndGet();
+        invalidate(removed.getId(), removed, null);
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Entry bị ảnh hưởng nếu: chứa Job này, hoặc filter của nó khớp bản cũ/bản mới (tổng số thay đổi).
+     * Entry có keyword luôn bị xóa (khớp keyword phụ thuộc analyzer của Lucene, không đánh giá lại ở đây).
+     */
+    private void invalidate(String jobId, JobSearchDocument before, JobSearchDocument after) {
+        cache.asMap().entrySet().removeIf(e -> isAffected(e, jobId, before, after));
+    }
+
+    private boolean isAffected(Map.Entry<Key, Entry> entry, String jobId, JobSearchDocument before, JobSearchDocument after) {
+        JobSearchRequest request = entry.getKey().request();
+        return request.keyword() != null
+                || entry.getValue().ids().contains(jobId)
+                || JobSearchFilters.matchesFilters(request, before)
+                || JobSearchFilters.matchesFilters(request, after);
+    }
+}
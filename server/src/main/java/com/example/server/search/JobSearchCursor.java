@@ -0,0 +1,34 @@
+package com.example.server.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Vị trí của Job cuối cùng trong trang trước (keyset pagination).
+ * Mentor Note: Trang sau được lấy bằng điều kiện range (createdAt, _id) < cursor
+ * thay vì $skip, nên chi phí không tăng theo độ sâu của trang.
+ * Client chỉ thấy chuỗi opaque (Base64 URL-safe), không cần biết cấu trúc bên trong.
+ */
+public record JobSearchCursor(Instant createdAt, String id) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new JobSearchCursor(
+                Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                raw.substring(separator + 1)
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
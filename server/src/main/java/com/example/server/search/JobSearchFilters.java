@@ -0,0 +1,126 @@
+package com.example.server.search;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.util.StringUtils;
+
+import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.model.JobSearchDocument;
+
+/**
+ * Đánh giá các filter của JobSearchRequest trên 1 document trong bộ nhớ,
+ * cùng ngữ nghĩa với query MongoDB trong JobRepositoryCustomImpl.
+ */
+public final class JobSearchFilters {
+
+    public static final double EARTH_RADIUS_KM = 6378.1;
+    private static final double DEFAULT_RADIUS_KM = 10;
+    private static final double MIN_RADIUS_KM = 0.1;
+    private static final double MAX_RADIUS_KM = 500;
+
+    private JobSearchFilters() {
+    }
+
+    /**
+     * Chuẩn hóa request để làm cache key: bỏ dấu, lower-case, chuỗi rỗng -> null.
+     */
+    public static JobSearchRequest normalize(JobSearchRequest request) {
+        return new JobSearchRequest(
+            normalizeText(request.keyword()),
+            normalizeText(request.locationCity()),
+            normalizeText(request.categoryName()),
+            request.minSalary(),
+            request.maxSalary(),
+            request.minExperience(),
+            request.jobType(),
+            request.status(),
+            tags(request).isEmpty() ? null : tags(request),
+            matchAnyTag(request) ? "any" : null,
+            hasGeo(request) ? request.lat() : null,
+            hasGeo(request) ? request.lon() : null,
+            hasGeo(request) ? radiusKm(request) : null
+        );
+    }
+
+    /**
+     * Có lọc theo bán kính không: cần đủ lat/lon hợp lệ (radiusKm mặc định DEFAULT_RADIUS_KM).
+     */
+    public static boolean hasGeo(JobSearchRequest request) {
+        return request.lat() != null && request.lon() != null
+                && Math.abs(request.lat()) <= 90 && Math.abs(request.lon()) <= 180;
+    }
+
+    /** Bán kính (km) đã chặn trong [MIN_RADIUS_KM, MAX_RADIUS_KM]. */
+    public static double radiusKm(JobSearchRequest request) {
+        double radius = request.radiusKm() != null ? request.radiusKm() : DEFAULT_RADIUS_KM;
+        return Math.max(MIN_RADIUS_KM, Math.min(radius, MAX_RADIUS_KM));
+    }
+
+    /**
+     * Khoảng cách mặt cầu (haversine, km) - cùng mô hình Trái Đất hình cầu với $centerSphere của MongoDB.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Tag filter đã chuẩn hóa (bỏ dấu, lower-case, không trùng, đã sort). Rỗng = không lọc theo tag.
+     */
+    public static List<String> tags(JobSearchRequest request) {
+        if (request.tags() == null) return List.of();
+        return request.tags().stream()
+                .map(TextNormalizer::fold)
+                .filter(tag -> tag != null)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /** tagMode=any: chỉ cần khớp 1 tag; còn lại (mặc định) phải khớp đủ mọi tag. */
+    public static boolean matchAnyTag(JobSearchRequest request) {
+        return "any".equalsIgnoreCase(request.tagMode());
+    }
+
+    /**
+     * Document có thỏa mọi filter (không tính keyword) của request không.
+     * Null ở phía document không thỏa điều kiện so sánh (giống MongoDB).
+     */
+    public static boolean matchesFilters(JobSearchRequest request, JobSearchDocument doc) {
+        if (doc == null) return false;
+        if (request.status() != null && request.status() != doc.getStatus()) return false;
+        if (request.jobType() != null && request.jobType() != doc.getEmploymentType()) return false;
+        if (request.minSalary() != null
+                && (doc.getSalaryMax() == null || doc.getSalaryMax() < request.minSalary())) return false;
+        if (request.maxSalary() != null
+                && (doc.getSalaryMin() == null || doc.getSalaryMin() > request.maxSalary())) return false;
+        if (request.minExperience() != null
+                && (doc.getMinExperience() == null || doc.getMinExperience() > request.minExperience())) return false;
+        if (!matchesTags(request, doc.getTagsFolded())) return false;
+        if (!matchesGeo(request, doc.getPosition())) return false;
+        if (!TextNormalizer.startsWithFolded(doc.getCityFolded(), request.locationCity())) return false;
+        return TextNormalizer.startsWithFolded(doc.getCategoryNameFolded(), request.categoryName());
+    }
+
+    private static boolean matchesTags(JobSearchRequest request, Set<String> docTags) {
+        List<String> tags = tags(request);
+        if (tags.isEmpty()) return true;
+        if (docTags == null) return false;
+        return matchAnyTag(request) ? tags.stream().anyMatch(docTags::contains) : docTags.containsAll(tags);
+    }
+
+    private static boolean matchesGeo(JobSearchRequest request, GeoJsonPoint position) {
+        if (!hasGeo(request)) return true;
+        if (position == null) return false;
+        return distanceKm(request.lat(), request.lon(), position.getY(), position.getX()) <= radiusKm(request);
+    }
+
+    private static String normalizeText(String value) {
+        return StringUtils.hasText(value) ? TextNormalizer.fold(value) : null;
+    }
+}
@@ -0,0 +1,537 @@
+package com.example.server.search;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobSignature;
+import com.example.server.model.JobStatus;
+import com.example.server.repository.JobSignatureRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Việc làm tương tự": LSH index trên MinHash signature của title + description + tags.
+ * Mentor Note:
+ * - Shingle = cặp từ liên tiếp (đã fold) của title/description, từ đơn của title và từng tag.
+ * - MinHash 128 hàm hash: tỉ lệ vị trí trùng nhau giữa 2 signature ~ Jaccard của 2 tập shingle.
+ * - LSH: chia signature thành 16 band x 8 hàng, Job rơi cùng bucket ở ít nhất 1 band là ứng viên
+ *   (ngưỡng ~ (1/16)^(1/8) ~ 0.7, MIN_SIMILARITY ngay dưới ngưỡng). Band rộng -> description mẫu chung
+ *   (giới thiệu công ty, phúc lợi) không kéo cả nghìn Job vào cùng 1 bucket.
+ * - Bucket chỉ chứa Job OPEN, thành viên là ordinal int trong bảng băm primitive (BucketTable) thay vì
+ *   Set<String>: ~16 x 24 byte/Job thay vì 64 HashSet. Job CLOSED vẫn giữ signature để làm Job nguồn.
+ * Signature được lưu vào "job_signatures" để khởi động lại không phải tính lại; ghi nền theo lô
+ * (dirty set + @Scheduled flush), không ghi DB trên thread của request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobSimilarityIndex implements JobIndexListener {
+
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 16;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    private static final double MIN_SIMILARITY = 0.5;
+    // Description rất dài chỉ lấy phần đầu - đủ đặc trưng, chặn chi phí shingle
+    private static final int MAX_TOKENS = 1000;
+    private static final int SAVE_BATCH_SIZE = 500;
+    private static final long[] SEEDS = seeds();
+
+    private record Entry(String id, long contentHash, int[] signature, boolean open) {}
+
+    // Mutation nhận được trong lúc rebuild đang dựng index mới (entry mới hoặc removedId)
+    private record Mutation(Entry entry, String removedId) {}
+
+    private final JobSignatureRepository signatureRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // != null trong lúc rebuild: mutation được ghi lại để replay lên index mới trước khi thay thế
+    private List<Mutation> journal;
+
+    // Job có signature cần ghi (còn trong index) hoặc xóa (không còn) ở lần flush tới
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top-N Job OPEN giống Job đã cho nhất (độ tương đồng giảm dần), null nếu Job không có trong index.
+     */
+    public List<String> similar(String jobId, int limit) {
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        lock.readLock().lock();
+        try {
+            Entry source = index.get(jobId);
+            if (source == null) return null;
+
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (int band = 0; band < BANDS; band++) {
+                index.buckets.forEach(bandKey(source.signature(), band), candidates::add);
+            }
+
+            IntIterator it = candidates.getIntIterator();
+            while (it.hasNext()) {
+                Entry candidate = index.entries.get(it.next());
+                if (candidate.id().equals(jobId)) continue;
+                double similarity = estimate(source.signature(), candidate.signature());
+                if (similarity < MIN_SIMILARITY) continue;
+                if (heap.size() < limit) {
+                    heap.add(Map.entry(candidate.id(), similarity));
+                } else if (similarity > heap.peek().getValue()) {
+                    heap.poll();
+                    heap.add(Map.entry(candidate.id(), similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    @Override
+    public void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        long contentHash = contentHash(current);
+        int[] signature = null;
+        lock.readLock().lock();
+        try {
+            Entry existing = index.get(current.getId());
+            // Chỉ đổi status/lương... -> giữ signature cũ
+            if (existing != null && existing.contentHash() == contentHash) signature = existing.signature();
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean changed = signature == null;
+        if (changed) signature = signatureOf(current);
+
+        apply(List.of(new Mutation(new Entry(current.getId(), contentHash, signature, current.getStatus() == JobStatus.OPEN), null)));
+        if (changed) dirty.add(current.getId());
+    }
+
+    // Bulk import: tính signature cả lô ngoài lock, cập nhật index trong 1 lần giữ write lock
+    @Override
+    public void onIndexedAll(List<JobSearchDocument> created) {
+        List<Mutation> mutations = new ArrayList<>(created.size());
+        for (JobSearchDocument current : created) {
+            Entry entry = new Entry(current.getId(), contentHash(current), signatureOf(current), current.getStatus() == JobStatus.OPEN);
+            mutations.add(new Mutation(entry, null));
+        }
+        apply(mutations);
+        created.forEach(doc -> dirty.add(doc.getId()));
+    }
+
+    @Override
+    public void onRemoved(JobSearchDocument removed) {
+        apply(List.of(new Mutation(null, removed.getId())));
+        dirty.add(removed.getId());
+    }
+
+    /**
+     * Nạp signature đã lưu; chỉ tính lại Job mới hoặc có nội dung khác lúc lưu.
+     * Mentor Note: Index mới được dựng ngoài lock (/similar vẫn phục vụ bằng index cũ), write lock chỉ
+     * giữ lúc replay journal và đổi tham chiếu.
+     */
+    @Override
+    public synchronized void rebuild(Stream<JobSearchDocument> documents) {
+        Map<String, JobSignature> stored = new HashMap<>();
+        try (Stream<JobSignature> signatures = signatureRepository.streamAll()) {
+            signatures.forEach(signature -> stored.put(signature.getId(), signature));
+        }
+
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index next = new Index();
+        List<JobSignature> pending = new ArrayList<>();
+        int[] recomputed = {0};
+        try {
+            documents.forEach(doc -> {
+                long contentHash = contentHash(doc);
+                JobSignature saved = stored.remove(doc.getId());
+                int[] signature;
+                if (saved != null && saved.getContentHash() == contentHash && saved.getSignature() != null
+                        && saved.getSignature().length == NUM_HASHES * Integer.BYTES) {
+                    signature = decode(saved.getSignature());
+                } else {
+                    signature = signatureOf(doc);
+                    pending.add(toSignature(doc.getId(), contentHash, signature));
+                    recomputed[0]++;
+                    if (pending.size() >= SAVE_BATCH_SIZE) {
+                        signatureRepository.saveAll(pending);
+                        pending.clear();
+                    }
+                }
+                next.put(new Entry(doc.getId(), contentHash, signature, doc.getStatus() == JobStatus.OPEN));
+            });
+            if (!pending.isEmpty()) signatureRepository.saveAll(pending);
+        } catch (RuntimeException e) {
+            // Bỏ index dở dang, tiếp tục phục vụ bằng index cũ
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int size;
+        lock.writeLock().lock();
+        try {
+            for (Mutation mutation : journal) next.apply(mutation);
+            journal = null;
+            index = next;
+            // Signature của Job không còn trong read model (Job tạo trong lúc nạp đã vào index qua journal)
+            stored.keySet().removeIf(id -> next.get(id) != null);
+            size = next.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!stored.isEmpty()) signatureRepository.deleteAllById(stored.keySet());
+        log.info("Job similarity index loaded {} jobs ({} signatures recomputed)", size, recomputed[0]);
+    }
+
+    /**
+     * Ghi signature của các Job đã thay đổi (saveAll theo lô) và xóa signature của Job đã bị xóa.
+     * Lỗi -> đưa lại vào dirty, lần sau thử lại. Signature chưa ghi chỉ làm lần khởi động sau tính lại.
+     */
+    @Scheduled(fixedDelayString = "${app.search.similar.flush-interval:5s}")
+    public synchronized void flush() {
+        if (dirty.isEmpty()) return;
+        // Lấy khỏi dirty trước rồi mới đọc index: Job thay đổi sau đó được đánh dấu lại cho lần sau
+        List<String> ids = new ArrayList<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext();) {
+            ids.add(it.next());
+            it.remove();
+        }
+
+        List<JobSignature> saves = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String id : ids) {
+                Entry entry = index.get(id);
+                if (entry != null) {
+                    saves.add(toSignature(id, entry.contentHash(), entry.signature()));
+                } else {
+                    deletes.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            for (int from = 0; from < saves.size(); from += SAVE_BATCH_SIZE) {
+                signatureRepository.saveAll(saves.subList(from, Math.min(from + SAVE_BATCH_SIZE, saves.size())));
+            }
+            if (!deletes.isEmpty()) signatureRepository.deleteAllById(deletes);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} job signatures, will retry", ids.size(), e);
+            dirty.addAll(ids);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    // ==================== Internals ====================
+
+    private void apply(List<Mutation> mutations) {
+        lock.writeLock().lock();
+        try {
+            for (Mutation mutation : mutations) {
+                if (journal != null) journal.add(mutation);
+                index.apply(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Job -> ordinal + bucket LSH. Không tự đồng bộ (JobSimilarityIndex giữ lock).
+     */
+    private static final class Index {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>(); // ordinal -> entry, null = ô trống
+        private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BucketTable buckets = new BucketTable();
+
+        Entry get(String id) {
+            Integer ordinal = ordinals.get(id);
+            return ordinal != null ? entries.get(ordinal) : null;
+        }
+
+        int size() {
+            return ordinals.size();
+        }
+
+        void apply(Mutation mutation) {
+            if (mutation.removedId() != null) {
+                remove(mutation.removedId());
+            } else {
+                put(mutation.entry());
+            }
+        }
+
+        void put(Entry entry) {
+            remove(entry.id());
+            Integer free = freeOrdinals.poll();
+            int ordinal = free != null ? free : entries.size();
+            if (free != null) entries.set(ordinal, entry); else entries.add(entry);
+            ordinals.put(entry.id(), ordinal);
+            if (!entry.open()) return; // Job không OPEN chỉ làm Job nguồn, không bao giờ là kết quả
+            for (int band = 0; band < BANDS; band++) buckets.add(bandKey(entry.signature(), band), ordinal);
+        }
+
+        void remove(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) return;
+            Entry entry = entries.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+            if (!entry.open()) return;
+            for (int band = 0; band < BANDS; band++) buckets.remove(bandKey(entry.signature(), band), ordinal);
+        }
+    }
+
+    /**
+     * Multimap key (int) -> ordinal không boxing: open addressing (linear probing, load <= 0.5) từ key tới
+     * đầu danh sách liên kết các ordinal nằm trong 2 mảng int (pool node + free list).
+     * Key là hash 32 bit của band: 2 band khác nhau trùng key chỉ thêm ứng viên thừa, bị estimate() loại.
+     */
+    private static final class BucketTable {
+        private int[] keys = new int[1024];
+        private int[] heads = new int[1024]; // node + 1, 0 = slot trống
+        private int used;
+        private int[] nodeOrdinals = new int[1024];
+        private int[] nodeNext = new int[1024]; // node + 1, 0 = cuối danh sách
+        private int nodeCount;
+        private int freeNode; // node + 1 đầu free list, 0 = rỗng
+
+        void add(int key, int ordinal) {
+            int node = allocateNode();
+            nodeOrdinals[node] = ordinal;
+            int slot = slotOf(key);
+            if (heads[slot] == 0) {
+                keys[slot] = key;
+                nodeNext[node] = 0;
+                heads[slot] = node + 1;
+                if (++used * 2 > keys.length) rehash(keys.length * 2);
+            } else {
+                nodeNext[node] = heads[slot];
+                heads[slot] = node + 1;
+            }
+        }
+
+        void remove(int key, int ordinal) {
+            int slot = slotOf(key);
+            int previous = 0;
+            int current = heads[slot];
+            while (current != 0 && nodeOrdinals[current - 1] != ordinal) {
+                previous = current;
+                current = nodeNext[current - 1];
+            }
+            if (current == 0) return;
+            if (previous == 0) heads[slot] = nodeNext[current - 1]; else nodeNext[previous - 1] = nodeNext[current - 1];
+            nodeNext[current - 1] = freeNode;
+            freeNode = current;
+            if (heads[slot] == 0) {
+                used--;
+                closeGap(slot);
+            }
+        }
+
+        void forEach(int key, IntConsumer action) {
+            for (int node = heads[slotOf(key)]; node != 0; node = nodeNext[node - 1]) {
+                action.accept(nodeOrdinals[node - 1]);
+            }
+        }
+
+        // Slot đang chứa key, hoặc slot trống nơi key sẽ được đặt
+        private int slotOf(int key) {
+            int mask = keys.length - 1;
+            int i = spread(key) & mask;
+            while (heads[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            return i;
+        }
+
+        private int allocateNode() {
+            if (freeNode != 0) {
+                int node = freeNode - 1;
+                freeNode = nodeNext[node];
+                return node;
+            }
+            if (nodeCount == nodeOrdinals.length) {
+                int capacity = nodeCount + (nodeCount >> 1);
+                nodeOrdinals = Arrays.copyOf(nodeOrdinals, capacity);
+                nodeNext = Arrays.copyOf(nodeNext, capacity);
+            }
+            return nodeCount++;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new int[capacity];
+            heads = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] == 0) continue;
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                heads[slot] = oldHeads[i];
+            }
+        }
+
+        // Xóa trong linear probing: dời các key phía sau về lấp chỗ trống (không dùng tombstone)
+        private void closeGap(int gap) {
+            int mask = keys.length - 1;
+            int i = gap;
+            while (true) {
+                i = (i + 1) & mask;
+                if (heads[i] == 0) return;
+                int home = spread(keys[i]) & mask;
+                boolean reachable = gap <= i ? (gap < home && home <= i) : (gap < home || home <= i);
+                if (reachable) continue;
+                keys[gap] = keys[i];
+                heads[gap] = heads[i];
+                heads[i] = 0;
+                gap = i;
+            }
+        }
+
+        private static int spread(int key) {
+            return key ^ (key >>> 16);
+        }
+    }
+
+    private static int bandKey(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = hash * 31 + signature[row];
+        }
+        return (int) ContentHashing.mix(hash);
+    }
+
+    private static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    static int[] signatureOf(JobSearchDocument doc) {
+        int[] signature = new int[NUM_HASHES];
+        long[] mins = new long[NUM_HASHES];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        for (long shingle : shingles(doc)) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                long hash = ContentHashing.mix(shingle ^ SEEDS[i]);
+                if (hash < mins[i]) mins[i] = hash;
+            }
+        }
+        for (int i = 0; i < NUM_HASHES; i++) signature[i] = (int) (mins[i] ^ (mins[i] >>> 32));
+        return signature;
+    }
+
+    private static Set<Long> shingles(JobSearchDocument doc) {
+        Set<Long> shingles = new HashSet<>();
+        String[] titleTokens = ContentHashing.tokens(doc.getTitle());
+        for (String token : titleTokens) shingles.add(ContentHashing.fnv("t:" + token));
+        addBigrams(shingles, titleTokens);
+        addBigrams(shingles, ContentHashing.tokens(doc.getDescription()));
+        if (doc.getTags() != null) {
+            for (String tag : doc.getTags()) {
+                String folded = TextNormalizer.fold(tag);
+                if (folded != null && !folded.isBlank()) shingles.add(ContentHashing.fnv("#:" + folded.trim()));
+            }
+        }
+        // Job rỗng: 1 shingle cố định để signature vẫn hợp lệ
+        if (shingles.isEmpty()) shingles.add(0L);
+        return shingles;
+    }
+
+    private static void addBigrams(Set<Long> shingles, String[] tokens) {
+        int limit = Math.min(tokens.length, MAX_TOKENS);
+        for (int i = 0; i + 1 < limit; i++) {
+            shingles.add(ContentHashing.fnv(tokens[i] + ' ' + tokens[i + 1]));
+        }
+        if (limit == 1) shingles.add(ContentHashing.fnv(tokens[0]));
+    }
+
+    private static long contentHash(JobSearchDocument doc) {
+        long hash = ContentHashing.fnv(String.valueOf(doc.getTitle()));
+        hash = hash * 31 + ContentHashing.fnv(String.valueOf(doc.getDescription()));
+        if (doc.getTags() != null) {
+            // Không phụ thuộc thứ tự của Set
+            long tags = 0;
+            for (String tag : doc.getTags()) tags += ContentHashing.fnv(tag);
+            hash = hash * 31 + tags;
+        }
+        return hash;
+    }
+
+    // Seed cố định: signature đã lưu phải còn dùng được sau khi restart
+    private static long[] seeds() {
+        long[] seeds = new long[NUM_HASHES];
+        long state = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            seeds[i] = ContentHashing.mix(state);
+        }
+        return seeds;
+    }
+
+    private static JobSignature toSignature(String jobId, long contentHash, int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return JobSignature.builder()
+                .id(jobId)
+                .contentHash(contentHash)
+                .signature(buffer.array())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    private static int[] decode(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+}
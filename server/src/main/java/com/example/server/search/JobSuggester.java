@@ -0,0 +1,207 @@
+package com.example.server.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.KeywordTokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup.LookupResult;
+import org.apache.lucene.search.suggest.analyzing.AnalyzingSuggester;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.server.dto.JobDtos.JobSuggestion;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gợi ý khi gõ (typeahead) cho ô tìm kiếm: title, tag, city, category của các Job đang OPEN.
+ * Mentor Note: Dữ liệu được nén thành FST (AnalyzingSuggester của Lucene), lookup theo prefix
+ * chỉ duyệt vài node nên tốn micro-giây, không chạm tới MongoDB.
+ * Mutation chỉ cập nhật bảng đếm trong bộ nhớ và đánh dấu "dirty"; FST được build lại ở background
+ * (@Scheduled) rồi thay thế nguyên khối (volatile) -> request đọc không bao giờ bị chặn.
+ */
+@Slf4j
+@Component
+public class JobSuggester implements JobIndexListener {
+
+    private enum Type { TITLE, TAG, CITY, CATEGORY }
+
+    private record Entry(Type type, String text) {}
+
+    // Số Job OPEN của mỗi entry (chỉ truy cập trong synchronized)
+    private final Map<Entry, Long> openCounts = new HashMap<>();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    // Chỉ 1 lần build tại 1 thời điểm (scheduler + rebuild lúc khởi động), tách khỏi lock của bảng đếm
+    private final Object buildLock = new Object();
+
+    private volatile AnalyzingSuggester suggester;
+
+    public boolean isReady() {
+        return suggester != null;
+    }
+
+    /**
+     * Top-K gợi ý bắt đầu bằng prefix (không phân biệt dấu/hoa thường), nhiều Job OPEN nhất trước.
+     */
+    public List<JobSuggestion> suggest(String prefix, int limit) {
+        AnalyzingSuggester current = suggester;
+        if (current == null || !StringUtils.hasText(prefix)) return List.of();
+        try {
+            List<LookupResult> results = current.lookup(prefix.trim(), false, limit);
+            List<JobSuggestion> suggestions = new ArrayList<>(results.size());
+            for (LookupResult result : results) {
+                Type type = Type.values()[result.payload.bytes[result.payload.offset]];
+                suggestions.add(new JobSuggestion(result.key.toString(), type.name().toLowerCase(Locale.ROOT), result.value));
+            }
+            return suggestions;
+        } catch (IOException e) {
+            log.error("Suggest lookup failed for prefix {}", prefix, e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public synchronized void onIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        count(previous, -1);
+        count(current, 1);
+        dirty.set(true);
+    }
+
+    @Override
+    public synchronized void onRemoved(JobSearchDocument removed) {
+        count(removed, -1);
+        dirty.set(true);
+    }
+
+    @Override
+    public void rebuild(Stream<JobSearchDocument> documents) {
+        synchronized (this) {
+            openCounts.clear();
+            documents.forEach(doc -> count(doc, 1));
+        }
+        dirty.set(true);
+        refresh();
+    }
+
+    /**
+     * Build lại FST nếu có thay đổi kể từ lần build trước (gom nhiều mutation vào 1 lần build).
+     */
+    @Scheduled(fixedDelayString = "${app.search.suggest.refresh-interval:5s}")
+    public void refresh() {
+        synchronized (buildLock) {
+            if (!dirty.getAndSet(false)) return;
+
+            List<Map.Entry<Entry, Long>> snapshot;
+            synchronized (this) {
+                snapshot = openCounts.entrySet().stream().map(e -> Map.entry(e.getKey(), e.getValue())).toList();
+            }
+
+            long start = System.currentTimeMillis();
+            try (ByteBuffersDirectory tempDir = new ByteBuffersDirectory()) {
+                AnalyzingSuggester next = new AnalyzingSuggester(tempDir, "suggest", new SuggestAnalyzer());
+                next.build(new EntryIterator(snapshot.iterator()));
+                suggester = next;
+                log.debug("Suggester rebuilt with {} entries in {} ms", snapshot.size(), System.currentTimeMillis() - start);
+            } catch (IOException | RuntimeException e) {
+                dirty.set(true); // thử lại ở lần chạy sau, vẫn phục vụ bằng FST cũ
+                log.error("Suggester rebuild failed", e);
+            }
+        }
+    }
+
+    private void count(JobSearchDocument doc, long delta) {
+        if (doc == null || doc.getStatus() != JobStatus.OPEN) return;
+        add(Type.TITLE, doc.getTitle(), delta);
+        add(Type.CITY, doc.getCity(), delta);
+        add(Type.CATEGORY, doc.getCategoryName(), delta);
+        Set<String> tags = doc.getTags();
+        if (tags != null) {
+            for (String tag : tags) add(Type.TAG, tag, delta);
+        }
+    }
+
+    private void add(Type type, String text, long delta) {
+        if (!StringUtils.hasText(text)) return;
+        openCounts.compute(new Entry(type, text.trim()), (entry, count) -> {
+            long next = (count != null ? count : 0) + delta;
+            return next > 0 ? next : null; // hết Job OPEN -> bỏ khỏi gợi ý
+        });
+    }
+
+    /**
+     * Cả chuỗi là 1 token (giữ khoảng trắng) + lower-case + bỏ dấu: "ha n" khớp prefix của "Hà Nội".
+     */
+    private static final class SuggestAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new KeywordTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+
+    /**
+     * Đưa entry vào suggester: key = text hiển thị, weight = số Job OPEN, payload = loại entry.
+     */
+    private static final class EntryIterator implements InputIterator {
+        private final Iterator<Map.Entry<Entry, Long>> entries;
+        private Map.Entry<Entry, Long> current;
+
+        EntryIterator(Iterator<Map.Entry<Entry, Long>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!entries.hasNext()) return null;
+            current = entries.next();
+            return new BytesRef(current.getKey().text());
+        }
+
+        @Override
+        public long weight() {
+            return Math.min(current.getValue(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public BytesRef payload() {
+            return new BytesRef(new byte[] { (byte) current.getKey().type().ordinal() });
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return true;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.server.search;
+
+import java.io.Reader;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Analyzer dùng chung cho mọi field text của Job (title, description, tags, city, category).
+ * Mentor Note: description thường là HTML nên strip tag trước khi tách từ,
+ * tránh việc "div", "span"... trở thành term và làm nhiễu điểm BM25.
+ * ASCIIFolding bỏ dấu tiếng Việt (kể cả đ -> d) để "ke toan" khớp "Kế toán".
+ */
+public class JobTextAnalyzer extends Analyzer {
+
+    @Override
+    protected Reader initReader(String fieldName, Reader reader) {
+        return new HTMLStripCharFilter(reader);
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer tokenizer = new StandardTokenizer();
+        TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+        return new TokenStreamComponents(tokenizer, stream);
+    }
+}
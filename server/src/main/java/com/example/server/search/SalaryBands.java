@@ -0,0 +1,63 @@
+package com.example.server.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chia trục lương thành các dải (band) cố định để trả lời "khoảng lương của Job giao với [x, y]" bằng index.
+ * Mentor Note: Mỗi Job lưu danh sách band mà [salaryMin, salaryMax] phủ qua (multikey).
+ * Job giao với [x, y] thì chắc chắn phủ ít nhất 1 band trong [band(x), band(y)] -> query $in trên vài band
+ * (index scan), sau đó chỉ cần kiểm tra chính xác salaryMin/salaryMax trên tập ứng viên nhỏ.
+ * Đổi BOUNDARIES thì phải rebuild read model.
+ */
+public final class SalaryBands {
+
+    // Cận dưới của từng band (VND, tăng dần); band cuối là "từ 100 triệu trở lên"
+    private static final double[] BOUNDARIES = {
+        0, 3_000_000, 5_000_000, 7_000_000, 10_000_000, 12_000_000, 15_000_000,
+        20_000_000, 25_000_000, 30_000_000, 40_000_000, 50_000_000, 70_000_000, 100_000_000
+    };
+
+    public static final int COUNT = BOUNDARIES.length;
+
+    private SalaryBands() {
+    }
+
+    /**
+     * Band chứa giá trị (binary search). Giá trị âm thuộc band đầu.
+     */
+    public static int bandOf(double salary) {
+        int low = 0;
+        int high = BOUNDARIES.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (BOUNDARIES[mid] <= salary) low = mid; else high = mid - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Các band mà khoảng lương của Job phủ qua. Thiếu 1 đầu = mở về phía đó; thiếu cả 2 = không band nào.
+     */
+    public static List<Integer> bandsOf(Double salaryMin, Double salaryMax) {
+        if (salaryMin == null && salaryMax == null) return List.of();
+        int from = salaryMin != null ? bandOf(salaryMin) : 0;
+        int to = salaryMax != null ? bandOf(salaryMax) : COUNT - 1;
+        return range(Math.min(from, to), Math.max(from, to));
+    }
+
+    /**
+     * Các band cần quét cho filter minSalary/maxSalary (null = không giới hạn phía đó).
+     */
+    public static List<Integer> bandsOverlapping(Double minSalary, Double maxSalary) {
+        int from = minSalary != null ? bandOf(minSalary) : 0;
+        int to = maxSalary != null ? bandOf(maxSalary) : COUNT - 1;
+        return from <= to ? range(from, to) : List.of();
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> bands = new ArrayList<>(to - from + 1);
+        for (int band = from; band <= to; band++) bands.add(band);
+        return bands;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.server.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Chuẩn hóa text tiếng Việt để so khớp không dấu: "Hà Nội" -> "ha noi", "Kế toán" -> "ke toan".
+ * Mentor Note: Kết quả được lưu sẵn vào các shadow field (*Folded) khi ghi,
+ * nhờ vậy query chỉ cần regex neo đầu (^...) - MongoDB dùng được index (range scan) thay vì quét cả collection.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String REGEX_META = "\\^$.|?*+()[]{}";
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Bỏ dấu, đ -> d, lower-case, gộp khoảng trắng. Chuỗi rỗng -> null.
+     */
+    public static String fold(String value) {
+        if (!StringUtils.hasText(value)) return null;
+        // NFD tách chữ có dấu thành chữ gốc + dấu (combining mark); "đ" không tách được nên thay tay
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return WHITESPACE.matcher(stripped).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Regex "bắt đầu bằng" trên giá trị đã fold, escape ký tự đặc biệt để prefix là literal
+     * (điều kiện để MongoDB chuyển regex thành index bounds).
+     */
+    public static String prefixRegex(String value) {
+        String folded = fold(value);
+        StringBuilder regex = new StringBuilder("^");
+        if (folded == null) return regex.toString();
+        for (char c : folded.toCharArray()) {
+            if (REGEX_META.indexOf(c) >= 0) regex.append('\\');
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+
+    /**
+     * So khớp prefix trong bộ nhớ, cùng ngữ nghĩa với prefixRegex trên MongoDB.
+     * @param folded giá trị đã fold (shadow field)
+     */
+    public static boolean startsWithFolded(String folded, String filter) {
+        String prefix = fold(filter);
+        if (prefix == null) return true;
+        return folded != null && folded.startsWith(prefix);
+    }
+}
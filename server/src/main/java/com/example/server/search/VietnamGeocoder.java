@@ -0,0 +1,125 @@
+package com.example.server.search;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Geocoding offline cho địa chỉ Việt Nam: (city, address) -> tọa độ trung tâm quận/huyện hoặc tỉnh/thành.
+ * Mentor Note: Bảng tọa độ (geo/vn-places.csv) được đóng gói cùng app, tra cứu hoàn toàn trong bộ nhớ -
+ * không gọi dịch vụ bên ngoài, không có quota/độ trễ mạng. Độ chính xác ở mức quận/huyện là đủ cho
+ * bán kính tìm kiếm vài km trở lên.
+ */
+@Component
+public class VietnamGeocoder {
+
+    private static final String TABLE = "geo/vn-places.csv";
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    public record Coordinates(double latitude, double longitude) {}
+
+    private record Place(List<String> names, Coordinates coordinates) {}
+
+    private final List<Place> provinces = new ArrayList<>();
+    // Tên tỉnh (key) -> quận/huyện thuộc tỉnh
+    private final Map<Place, List<Place>> districtsByProvince = new HashMap<>();
+    // Tên quận/huyện (key) -> quận/huyện, dùng khi city chỉ ghi quận ("Quận 1", "Thủ Đức")
+    private final Map<String, Place> districtsByName = new HashMap<>();
+
+    public VietnamGeocoder() {
+        load();
+    }
+
+    /**
+     * Ưu tiên quận/huyện (tìm trong address rồi city) thuộc tỉnh khớp với city, không có thì lấy tọa độ tỉnh.
+     */
+    public Optional<Coordinates> geocode(String city, String address) {
+        String cityKey = key(city);
+        String addressKey = key(address);
+
+        Place province = findProvince(cityKey);
+        if (province == null) province = findProvince(addressKey);
+        if (province == null) {
+            return Optional.ofNullable(districtsByName.get(cityKey)).map(Place::coordinates);
+        }
+
+        for (Place district : districtsByProvince.getOrDefault(province, List.of())) {
+            if (containsAny(addressKey, district) || containsAny(cityKey, district)) {
+                return Optional.of(district.coordinates());
+            }
+        }
+        return Optional.of(province.coordinates());
+    }
+
+    private Place findProvince(String key) {
+        if (key.isEmpty()) return null;
+        for (Place province : provinces) {
+            if (containsAny(key, province)) return province;
+        }
+        return null;
+    }
+
+    // So khớp nguyên cụm từ: "quan 1" không khớp "quan 10"
+    private boolean containsAny(String key, Place place) {
+        if (key.isEmpty()) return false;
+        String padded = " " + key + " ";
+        for (String name : place.names()) {
+            if (padded.contains(" " + name + " ")) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Bỏ dấu, lower-case, ký tự không phải chữ/số -> khoảng trắng: "Q.1, TP. HCM" -> "q 1 tp hcm".
+     */
+    private static String key(String value) {
+        String folded = TextNormalizer.fold(value);
+        if (folded == null) return "";
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private void load() {
+        Map<String, Place> provinceByName = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(TABLE).getInputStream(), StandardCharsets.UTF_8))) {
+            boolean header = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                List<String> names = Arrays.stream(columns[1].split("\\|")).map(VietnamGeocoder::key).toList();
+                Place place = new Place(names, new Coordinates(
+                        Double.parseDouble(columns[3].trim()), Double.parseDouble(columns[4].trim())));
+
+                if ("province".equals(columns[0])) {
+                    provinces.add(place);
+                    provinceByName.put(names.get(0), place);
+                } else {
+                    Place province = provinceByName.get(key(columns[2]));
+                    if (province == null) {
+                        throw new IllegalStateException("Unknown province in " + TABLE + ": " + line);
+                    }
+                    districtsByProvince.computeIfAbsent(province, p -> new ArrayList<>()).add(place);
+                    for (String name : names) districtsByName.putIfAbsent(name, place);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load geocoding table " + TABLE, e);
+        }
+    }
+}
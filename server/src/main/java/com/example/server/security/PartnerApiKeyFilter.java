@@ -0,0 +1,69 @@
+package com.example.server.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Xác thực đối tác (aggregator) đồng bộ catalog bằng header X-API-Key, cấp quyền ROLE_PARTNER.
+ * Mentor Note: Chỉ áp dụng cho endpoint export - đối tác không có user/JWT nên không được
+ * dùng key này để gọi các API khác (các API đó cần CustomUserDetails của user đang đăng nhập).
+ */
+@Component
+public class PartnerApiKeyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-API-Key";
+    public static final String EXPORT_PATH = "/api/jobs/export";
+
+    private final List<byte[]> apiKeys;
+
+    public PartnerApiKeyFilter(@Value("${app.partner.api-keys:}") String apiKeys) {
+        this.apiKeys = Arrays.stream(apiKeys.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return apiKeys.isEmpty() || !EXPORT_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(HEADER);
+        if (StringUtils.hasText(apiKey) && SecurityContextHolder.getContext().getAuthentication() == null && matches(apiKey)) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    "partner", null, List.of(new SimpleGrantedAuthority("ROLE_PARTNER")));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // So sánh thời gian hằng (không lộ độ dài prefix đúng qua timing)
+    private boolean matches(String apiKey) {
+        byte[] candidate = apiKey.getBytes(StandardCharsets.UTF_8);
+        boolean matched = false;
+        for (byte[] key : apiKeys) {
+            matched |= MessageDigest.isEqual(key, candidate);
+        }
+        return matched;
+    }
+}
@@ -57,7 +57,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     public ApplicationResponse create(String jobSeekerId, ApplyRequest request) {
         // 1. Validate Job Existence
         // Mentor Note: Cần check Job có tồn tại không trước khi nộp.
-        var job = jobRepository.findById(request.jobId())
+        var job = jobRepository.findActiveById(request.jobId())
                 .orElseThrow(() -> new NotFoundException("Job not found with id: " + request.jobId()));
 
         // 2. Validate Job Status (Business Rule)
@@ -65,6 +65,10 @@ public class ApplicationServiceImpl implements ApplicationService {
         if (job.getStatus() != JobStatus.OPEN) {
             throw new IllegalArgumentException("Cannot apply to a job that is not OPEN (Current status: " + job.getStatus() + ")");
         }
+        // Deadline đã qua nhưng JobExpiryScheduler chưa kịp đóng (tối đa ~1 tick)
+        if (job.getDeadline() != null && !job.getDeadline().isAfter(Instant.now())) {
+            throw new IllegalArgumentException("Cannot apply to a job past its deadline (" + job.getDeadline() + ")");
+        }
 
         // 3. Check Duplicate Application
         // Mentor Note: Ngăn chặn spam nộp đơn nhiều lần vào cùng 1 job.
@@ -107,7 +111,9 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .map(Application::getJobId)
                 .collect(Collectors.toSet());
 
+        // Job đã bị xóa (chờ sweeper dọn Application) coi như không còn
         Map<String, Job> jobMap = jobRepository.findAllById(jobIds).stream()
+                .filter(job -> job.getDeletedAt() == null)
                 .collect(Collectors.toMap(Job::getId, Function.identity()));
 
         // 3. Map Entity -> DTO
@@ -135,7 +141,7 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .orElseThrow(() -> new NotFoundException("Application not found"));
 
         // 2. Tìm Job liên quan để kiểm tra quyền sở hữu
-        Job job = jobRepository.findById(application.getJobId())
+        Job job = jobRepository.findActiveById(application.getJobId())
                 .orElseThrow(() -> new NotFoundException("Job not found"));
 
         // 3. SECURITY CHECK: Chỉ người đăng Job (Recruiter) mới được sửa trạng thái
@@ -160,7 +166,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Override
     public Page<RecruiterApplicationDto> getJobApplications(String jobId, String recruiterId, Pageable pageable) {
         // 1. Check Job Existence
-        Job job = jobRepository.findById(jobId)
+        Job job = jobRepository.findActiveById(jobId)
                 .orElseThrow(() -> new NotFoundException("Job not found"));
 
         // 2. Check Owner (Chỉ người đăng mới được xem danh sách ứng viên)
@@ -212,7 +218,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Override
     public ApplicationCountResponse countApplicationsByJobId(String jobId) {
         // 1. Check Job Existence (Optional but recommended for 404 consistency)
-        if (!jobRepository.existsById(jobId)) {
+        if (!jobRepository.existsByIdAndDeletedAtIsNull(jobId)) {
             throw new NotFoundException("Job not found with id: " + jobId);
         }
         // 2. Count
@@ -135,7 +135,7 @@ public class CompanyServiceImpl implements CompanyService {
         }
 
         // 2. Check Data Integrity (Phương án A): Chặn nếu còn Job
-        if (jobRepository.existsByCompanyId(id)) {
+        if (jobRepository.existsByCompanyIdAndDeletedAtIsNull(id)) {
             throw new IllegalArgumentException("Cannot delete company. Please delete all associated jobs first.");
         }
 
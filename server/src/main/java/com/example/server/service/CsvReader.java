@@ -0,0 +1,119 @@
+package com.example.server.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc CSV (RFC 4180) từng bản ghi một, không load cả file vào bộ nhớ.
+ * Hỗ trợ field trong dấu nháy kép chứa dấu phẩy / xuống dòng và "" để escape dấu nháy.
+ * BOM đầu file (Excel "CSV UTF-8") bị bỏ qua; xuống dòng là \n, \r\n hoặc \r.
+ */
+final class CsvReader {
+
+    private final Reader reader;
+    private int pending = -2; // ký tự đọc trước (-2 = chưa có)
+    private boolean started;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Bản ghi tiếp theo, null khi hết dữ liệu. Dòng trống bị bỏ qua.
+     */
+    List<String> next() throws IOException {
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != '\uFEFF') unread(first);
+        }
+        while (true) {
+            int c = read();
+            if (c == -1) return null;
+            if (c == '\r' || c == '\n') continue;
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        // Dòng (không trống) mà bản ghi đã chiếm - dấu nháy không đóng thì tất cả đều không đọc được
+        int lines = 1;
+        boolean lineBreak = false;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) throw new UnterminatedQuoteException(lines);
+                if (c == '\n' || c == '\r') {
+                    lineBreak = true;
+                } else if (lineBreak) {
+                    lines++;
+                    lineBreak = false;
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == -1 || c == '\n' || c == '\r') {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') unread(next);
+                }
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Dấu nháy mở không bao giờ đóng: phần còn lại của file bị nuốt vào 1 field.
+     * lines = số dòng dữ liệu (không trống) từ dòng mở nháy tới hết file.
+     */
+    static final class UnterminatedQuoteException extends IOException {
+        private final int lines;
+
+        UnterminatedQuoteException(int lines) {
+            super("Unterminated quoted field");
+            this.lines = lines;
+        }
+
+        int lines() {
+            return lines;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
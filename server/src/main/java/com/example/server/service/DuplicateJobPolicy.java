@@ -0,0 +1,10 @@
+package com.example.server.service;
+
+/**
+ * Xử lý khi tin mới gần trùng 1 tin đang có của cùng công ty (app.jobs.duplicate.policy).
+ */
+public enum DuplicateJobPolicy {
+    REJECT, // Từ chối (409), trả về ID tin đã có
+    MERGE,  // Cập nhật tin đã có bằng nội dung mới thay vì tạo bản ghi mới
+    ALLOW   // Vẫn tạo mới (hành vi cũ)
+}
@@ -19,7 +19,7 @@ public class GeneralServiceImpl implements GeneralService {
     public SystemStatsResponse getSystemStats() {
         // Sử dụng method count() có sẵn của MongoRepository
         var userCount = userRepository.count();
-        var jobCount = jobRepository.count();
+        var jobCount = jobRepository.countByDeletedAtIsNull();
         var companyCount = companyRepository.count();
 
         return new SystemStatsResponse(userCount, jobCount, companyCount);
@@ -0,0 +1,56 @@
+package com.example.server.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.server.model.Job;
+import com.example.server.model.JobStatus;
+import com.example.server.repository.JobRepository;
+import com.example.server.search.JobExpiryWheel;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đóng (CLOSED) các Job tới deadline, đúng tới từng giây.
+ * Mentor Note: JobExpiryWheel biết chính xác Job nào tới hạn ở mỗi tick nên mỗi giây chỉ tốn
+ * 1 lần quay kim trong bộ nhớ; khi có Job tới hạn mới chạm DB (updateMany theo lô).
+ * Sau khi đóng, read model + mọi index/cache in-memory được cập nhật qua JobSearchIndexer
+ * nên Job hết hạn biến mất khỏi search status=OPEN ngay lập tức.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobExpiryScheduler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JobExpiryWheel expiryWheel;
+    private final JobRepository jobRepository;
+    private final JobSearchIndexer jobSearchIndexer;
+
+    @Scheduled(fixedDelayString = "${app.jobs.expiry.tick:1s}")
+    public void closeExpiredJobs() {
+        if (!expiryWheel.isReady()) return;
+        Instant now = Instant.now();
+        List<String> due = expiryWheel.advance(now);
+
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<String> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+            try {
+                List<String> expired = jobRepository.findExpired(batch, now).stream().map(Job::getId).toList();
+                if (expired.isEmpty()) continue;
+                jobRepository.closeExpired(expired, now);
+                jobSearchIndexer.indexStatusChanged(expired, JobStatus.CLOSED, now);
+                log.info("Closed {} jobs past their deadline", expired.size());
+            } catch (RuntimeException e) {
+                // advance() đã gỡ các Job này khỏi lịch -> trả lại để tick sau thử lại
+                log.error("Failed to close {} expired jobs, will retry", batch.size(), e);
+                expiryWheel.retry(batch);
+            }
+        }
+    }
+}
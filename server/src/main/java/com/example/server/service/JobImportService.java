@@ -0,0 +1,13 @@
+package com.example.server.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.example.server.dto.JobDtos.JobImportReport;
+
+public interface JobImportService {
+
+    enum Format { CSV, NDJSON }
+
+    JobImportReport importJobs(InputStream input, Format format, String postedByUserId) throws IOException;
+}
@@ -0,0 +1,425 @@
+package com.example.server.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.example.server.dto.JobDtos.CreateCategoryDto;
+import com.example.server.dto.JobDtos.CreateJobDto;
+import com.example.server.dto.JobDtos.CreateLocationDto;
+import com.example.server.dto.JobDtos.ImportRowStatus;
+import com.example.server.dto.JobDtos.JobImportReport;
+import com.example.server.dto.JobDtos.JobImportRowResult;
+import com.example.server.model.Category;
+import com.example.server.model.Company;
+import com.example.server.model.Job;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+import com.example.server.model.JobType;
+import com.example.server.model.Location;
+import com.example.server.repository.CompanyRepository;
+import com.example.server.search.FingerprintBuckets;
+import com.example.server.search.JobFingerprintIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import hàng loạt tin tuyển dụng từ CSV / NDJSON.
+ * Mentor Note: createJob tốn 3-4 round trip mỗi Job (existsById Company, save Job, Location, Category).
+ * Ở đây file được đọc dạng stream và xử lý theo lô (app.jobs.import.batch-size):
+ * - Company của cả lô kiểm tra bằng 1 query $in (có cache giữa các lô).
+ * - Job ID được cấp sẵn ở client (ObjectId) nên Location/Category tham chiếu được ngay,
+ *   mỗi collection chỉ 1 lệnh insertMany cho cả lô; read model cũng 1 insertMany.
+ * Dòng lỗi (sai định dạng, vi phạm validation, Company không tồn tại, trùng tin) được báo cáo
+ * theo từng dòng và không chặn các dòng khác.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobImportServiceImpl implements JobImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of(
+        "title", "companyid", "description", "city", "address", "category",
+        "employmenttype", "minexperience", "salarymin", "salarymax", "deadline", "tags");
+
+    private final MongoTemplate mongoTemplate;
+    private final CompanyRepository companyRepository;
+    private final JobSearchIndexer jobSearchIndexer;
+    private final JobFingerprintIndex jobFingerprintIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.jobs.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.jobs.import.max-rows:20000}")
+    private int maxRows;
+
+    @Value("${app.jobs.duplicate.policy:REJECT}")
+    private DuplicateJobPolicy duplicatePolicy;
+
+    private record ParsedRow(long row, CreateJobDto dto, String error) {}
+
+    /** Trạng thái dùng chung giữa các lô của 1 lần import. */
+    private static class ImportContext {
+        final String postedByUserId;
+        final List<JobImportRowResult> results = new ArrayList<>();
+        final Set<String> knownCompanies = new HashSet<>();
+        final Set<String> missingCompanies = new HashSet<>();
+        // Job đã tạo trong chính file này - tra gần trùng giống JobFingerprintIndex
+        final FingerprintBuckets importedFingerprints;
+        long created;
+
+        ImportContext(String postedByUserId, FingerprintBuckets importedFingerprints) {
+            this.postedByUserId = postedByUserId;
+            this.importedFingerprints = importedFingerprints;
+        }
+    }
+
+    @Override
+    public JobImportReport importJobs(InputStream input, Format format, String postedByUserId) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportContext context = new ImportContext(postedByUserId, jobFingerprintIndex.newLocalBuckets());
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        boolean truncated = false;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowSource source = format == Format.CSV ? csvSource(reader) : ndjsonSource(reader);
+            ParsedRow row;
+            while ((row = source.next()) != null) {
+                if (row.row() > maxRows) {
+                    truncated = true;
+                    break;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(batch, context);
+                    batch.clear();
+                }
+            }
+        }
+        flush(batch, context);
+
+        long total = context.results.size();
+        log.info("Imported {}/{} jobs in {} ms", context.created, total, System.currentTimeMillis() - start);
+        return new JobImportReport(total, context.created, total - context.created, truncated, context.results);
+    }
+
+    // ==================== Parsing ====================
+
+    @FunctionalInterface
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private RowSource ndjsonSource(BufferedReader reader) {
+        long[] rowNumber = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.isBlank());
+            long row = ++rowNumber[0];
+            try {
+                return new ParsedRow(row, objectMapper.readValue(line, CreateJobDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(row, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private RowSource csvSource(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) return () -> null;
+
+        // Cột theo header (không phân biệt hoa thường), cột lạ bị bỏ qua
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) columns.put(name, i);
+        }
+        long[] rowNumber = {0};
+        // Dấu nháy không đóng: các dòng còn lại được báo INVALID, các lô trước vẫn giữ nguyên kết quả
+        long[] unterminatedAt = {0};
+        int[] unreadable = {0};
+        return () -> {
+            if (unreadable[0] > 0) {
+                unreadable[0]--;
+                return new ParsedRow(++rowNumber[0], null,
+                        "Not parsed: unterminated quoted field opened in row " + unterminatedAt[0]);
+            }
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (CsvReader.UnterminatedQuoteException e) {
+                unterminatedAt[0] = ++rowNumber[0];
+                unreadable[0] = e.lines() - 1;
+                return new ParsedRow(unterminatedAt[0], null, "Unterminated quoted field (missing closing \")");
+            }
+            if (record == null) return null;
+            long row = ++rowNumber[0];
+            try {
+                return new ParsedRow(row, toCreateDto(record, columns), null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(row, null, e.getMessage());
+            }
+        };
+    }
+
+    private CreateJobDto toCreateDto(List<String> record, Map<String, Integer> columns) {
+        String city = column(record, columns, "city");
+        String address = column(record, columns, "address");
+        String category = column(record, columns, "category");
+        String employmentType = column(record, columns, "employmenttype");
+        String deadline = column(record, columns, "deadline");
+        String tags = column(record, columns, "tags");
+
+        return new CreateJobDto(
+            column(record, columns, "title"),
+            column(record, columns, "companyid"),
+            column(record, columns, "description"),
+            city != null || address != null ? new CreateLocationDto(city, address) : null,
+            category != null ? new CreateCategoryDto(category) : null,
+            employmentType != null ? parseEnum(employmentType) : null,
+            parseNumber(column(record, columns, "minexperience"), "minExperience", Integer::valueOf),
+            parseNumber(column(record, columns, "salarymin"), "salaryMin", Double::valueOf),
+            parseNumber(column(record, columns, "salarymax"), "salaryMax", Double::valueOf),
+            deadline != null ? parseInstant(deadline) : null,
+            // Nhiều tag trong 1 ô: phân tách bằng | hoặc ;
+            tags != null ? Arrays.stream(tags.split("[|;]")).map(String::trim).filter(StringUtils::hasText)
+                    .collect(Collectors.toCollection(LinkedHashSet::new)) : null,
+            null
+        );
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static JobType parseEnum(String value) {
+        try {
+            return JobType.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid employmentType: " + value);
+        }
+    }
+
+    private static <T> T parseNumber(String value, String field, Function<String, T> parser) {
+        if (value == null) return null;
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid deadline (expected ISO-8601, e.g. 2025-12-31T00:00:00Z): " + value);
+        }
+    }
+
+    // ==================== Batch write ====================
+
+    private void flush(List<ParsedRow> batch, ImportContext context) {
+        if (batch.isEmpty()) return;
+        resolveCompanies(batch, context);
+
+        Instant now = Instant.now();
+        List<ParsedRow> accepted = new ArrayList<>(batch.size());
+        List<Job> jobs = new ArrayList<>(batch.size());
+        List<Location> locations = new ArrayList<>(batch.size());
+        List<Category> categories = new ArrayList<>();
+        Map<Long, JobImportRowResult> rejected = new HashMap<>();
+
+        for (ParsedRow row : batch) {
+            String error = validate(row, context);
+            if (error != null) {
+                rejected.put(row.row(), new JobImportRowResult(row.row(), ImportRowStatus.INVALID, null, error));
+                continue;
+            }
+            CreateJobDto dto = row.dto();
+            String jobId = new ObjectId().toHexString();
+
+            Optional<String> duplicate = findDuplicate(dto, jobId, context);
+            if (duplicate.isPresent()) {
+                rejected.put(row.row(), new JobImportRowResult(row.row(), ImportRowStatus.DUPLICATE, duplicate.get(),
+                        "A near-identical job is already posted by this company"));
+                continue;
+            }
+
+            accepted.add(row);
+            jobs.add(Job.builder()
+                    .id(jobId)
+                    .title(dto.title())
+                    .companyId(dto.companyId())
+                    .description(dto.description())
+                    .employmentType(dto.employmentType())
+                    .minExperience(dto.minExperience())
+                    .salaryMin(dto.salaryMin())
+                    .salaryMax(dto.salaryMax())
+                    .deadline(dto.deadline())
+                    .tags(dto.tags())
+                    .postedByUserId(context.postedByUserId)
+                    .status(JobStatus.OPEN)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            locations.add(Location.builder()
+                    .city(dto.location().city())
+                    .address(dto.location().address())
+                    .jobId(jobId)
+                    .build());
+            if (dto.category() != null) {
+                categories.add(Category.builder().name(dto.category().name()).jobId(jobId).build());
+            }
+        }
+
+        if (!jobs.isEmpty()) {
+            try {
+                // 3 lệnh insertMany cho cả lô (Location đi qua BeforeConvertCallback -> được geocode)
+                mongoTemplate.insert(jobs, Job.class);
+                Map<String, Location> savedLocations = mongoTemplate.insert(locations, Location.class).stream()
+                        .collect(Collectors.toMap(Location::getJobId, location -> location));
+                Map<String, Category> savedCategories = categories.isEmpty() ? Map.of()
+                        : mongoTemplate.insert(categories, Category.class).stream()
+                                .collect(Collectors.toMap(Category::getJobId, category -> category));
+                jobSearchIndexer.indexCreatedAll(jobs, savedLocations, savedCategories);
+                context.created += jobs.size();
+            } catch (DataAccessException e) {
+                log.error("Bulk insert of {} imported jobs failed", jobs.size(), e);
+                List<String> jobIds = jobs.stream().map(Job::getId).toList();
+                String message = rollback(jobIds)
+                        ? "Database error, row not imported"
+                        : "Database error, row may be partially imported (rollback failed)";
+                for (ParsedRow row : accepted) {
+                    rejected.put(row.row(), new JobImportRowResult(row.row(), ImportRowStatus.FAILED, null, message));
+                }
+                // Các dòng giống hệt phía sau không được báo DUPLICATE trỏ tới Job không tồn tại
+                jobIds.forEach(context.importedFingerprints::remove);
+                jobs.clear();
+            }
+        }
+
+        // Báo cáo theo đúng thứ tự dòng trong file
+        int next = 0;
+        for (ParsedRow row : batch) {
+            JobImportRowResult result = rejected.get(row.row());
+            if (result == null) {
+                result = new JobImportRowResult(row.row(), ImportRowStatus.CREATED, jobs.get(next++).getId(), null);
+            }
+            context.results.add(result);
+        }
+    }
+
+    /**
+     * Các lệnh insert của 1 lô không nằm trong transaction: lô lỗi giữa chừng thì xóa phần đã ghi
+     * (theo _id / jobId $in) để không còn Job thiếu Location hoặc không có trong read model.
+     * Index in-memory chỉ nhận lô sau khi mọi insert thành công nên không cần dọn.
+     */
+    private boolean rollback(List<String> jobIds) {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(jobIds)), JobSearchDocument.class);
+            mongoTemplate.remove(new Query(Criteria.where("jobId").in(jobIds)), Category.class);
+            mongoTemplate.remove(new Query(Criteria.where("jobId").in(jobIds)), Location.class);
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(jobIds)), Job.class);
+            return true;
+        } catch (DataAccessException e) {
+            log.error("Rollback of {} imported jobs failed", jobIds.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Kiểm tra tồn tại Company cho cả lô bằng 1 query (chỉ các ID chưa gặp ở lô trước).
+     */
+    private void resolveCompanies(List<ParsedRow> batch, ImportContext context) {
+        Set<String> unknown = batch.stream()
+                .filter(row -> row.dto() != null && StringUtils.hasText(row.dto().companyId()))
+                .map(row -> row.dto().companyId())
+                .filter(id -> !context.knownCompanies.contains(id) && !context.missingCompanies.contains(id))
+                .collect(Collectors.toSet());
+        if (unknown.isEmpty()) return;
+
+        Collection<String> valid = unknown.stream().filter(ObjectId::isValid).toList();
+        Set<String> found = valid.isEmpty() ? Set.of() : companyRepository.findAllById(valid).stream()
+                .map(Company::getId)
+                .collect(Collectors.toSet());
+        for (String id : unknown) {
+            (found.contains(id) ? context.knownCompanies : context.missingCompanies).add(id);
+        }
+    }
+
+    private String validate(ParsedRow row, ImportContext context) {
+        if (row.error() != null) return row.error();
+        Set<ConstraintViolation<CreateJobDto>> violations = validator.validate(row.dto());
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        CreateLocationDto location = row.dto().location();
+        if (!StringUtils.hasText(location.city()) || !StringUtils.hasText(location.address())) {
+            return "location: city and address are required";
+        }
+        if (context.missingCompanies.contains(row.dto().companyId())) {
+            return "Company not found with id: " + row.dto().companyId();
+        }
+        return null;
+    }
+
+    /**
+     * Cùng quy tắc với createJob (app.jobs.duplicate.policy), cộng thêm trùng lặp trong chính file
+     * (cùng ngưỡng khoảng cách Hamming: 2 dòng chỉ khác vài chữ cũng là trùng).
+     * Bulk import không MERGE: dòng trùng được báo cáo kèm ID Job đã có để recruiter tự xử lý.
+     */
+    private Optional<String> findDuplicate(CreateJobDto dto, String jobId, ImportContext context) {
+        if (duplicatePolicy == DuplicateJobPolicy.ALLOW) return Optional.empty();
+        long fingerprint = JobFingerprintIndex.fingerprint(dto.companyId(), dto.title(), dto.description());
+        if (jobFingerprintIndex.isReady()) {
+            Optional<String> existing = jobFingerprintIndex.findDuplicate(dto.companyId(), fingerprint);
+            if (existing.isPresent()) return existing;
+        }
+        Optional<String> imported = context.importedFingerprints.findDuplicate(dto.companyId(), fingerprint);
+        if (imported.isEmpty()) context.importedFingerprints.add(jobId, dto.companyId(), fingerprint);
+        return imported;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.server.service;
+
+import java.util.List;
+
+import com.example.server.dto.JobDtos.RecommendedJobDto;
+
+public interface JobRecommendationService {
+    List<RecommendedJobDto> getRecommendations(String userId, int limit);
+    void markProfileChanged(String userId);
+    void refresh();
+    void rebuildAll();
+}
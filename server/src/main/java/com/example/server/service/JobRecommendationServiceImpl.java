@@ -0,0 +1,214 @@
+package com.example.server.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.server.dto.JobDtos.JobSummaryDto;
+import com.example.server.dto.JobDtos.RecommendedJobDto;
+import com.example.server.model.Experience;
+import com.example.server.model.JobRecommendation;
+import com.example.server.model.JobSeekerProfile;
+import com.example.server.model.JobStatus;
+import com.example.server.model.Skill;
+import com.example.server.repository.JobRecommendationRepository;
+import com.example.server.repository.JobSeekerProfileRepository;
+import com.example.server.repository.ReferenceMigration;
+import com.example.server.search.JobRecommender;
+import com.example.server.search.JobRecommender.SeekerVector;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tính sẵn top-K Job gợi ý cho từng Job Seeker và lưu vào "job_recommendations".
+ * Mentor Note:
+ * - Full batch: duyệt profile theo lô, mỗi lô 2 query $in (Skill, Experience), chấm điểm song song
+ *   trên pool riêng (không chiếm common pool của request), ghi kết quả bằng 1 bulk upsert.
+ * - Incremental: profile thay đổi -> markProfileChanged; Job thay đổi -> JobRecommender trả về các
+ *   Seeker có chung đặc trưng. Cả 2 được gom lại và tính lại theo chu kỳ refresh-interval.
+ * Full batch và incremental dùng chung 1 lock (scheduler có nhiều thread) nên không chạy chồng nhau.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobRecommendationServiceImpl implements JobRecommendationService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JobRecommender recommender;
+    private final JobRecommendationRepository recommendationRepository;
+    private final JobSeekerProfileRepository profileRepository;
+    private final ReferenceMigration referenceMigration;
+    private final MongoTemplate mongoTemplate;
+    private final JobService jobService;
+
+    @Value("${app.recommendation.top-k:50}")
+    private int topK;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final Object computeLock = new Object();
+    private final Set<String> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private volatile boolean initialized;
+
+    @Override
+    public List<RecommendedJobDto> getRecommendations(String userId, int limit) {
+        JobRecommendation recommendation = recommendationRepository.findById(userId).orElse(null);
+        if (recommendation == null) {
+            // Seeker mới chưa có trong batch -> tính ngay 1 lần (chỉ khi engine đã nạp xong Job)
+            if (!recommender.isReady()) return List.of();
+            List<JobSeekerProfile> profiles = profileRepository.findByUserIdIn(List.of(userId));
+            if (profiles.isEmpty()) return List.of();
+            List<JobRecommendation> computed = compute(profiles);
+            if (computed.isEmpty()) return List.of();
+            recommendation = computed.get(0);
+        }
+        if (recommendation.getJobs() == null || recommendation.getJobs().isEmpty()) return List.of();
+
+        // Lấy dư vài Job phòng trường hợp Job đã đóng/xóa từ lần tính trước
+        List<JobRecommendation.ScoredJob> scored = recommendation.getJobs().stream()
+                .limit(Math.min(limit, topK) * 2L)
+                .toList();
+        Map<String, Double> scores = scored.stream()
+                .collect(Collectors.toMap(JobRecommendation.ScoredJob::jobId, JobRecommendation.ScoredJob::score, (a, b) -> a));
+
+        List<JobSummaryDto> summaries = jobService.getJobSummaries(scored.stream().map(JobRecommendation.ScoredJob::jobId).toList());
+        return summaries.stream()
+                .filter(summary -> summary.status() == JobStatus.OPEN)
+                .limit(limit)
+                .map(summary -> new RecommendedJobDto(summary, scores.get(summary.id())))
+                .toList();
+    }
+
+    @Override
+    public void markProfileChanged(String userId) {
+        dirtyUsers.add(userId);
+    }
+
+    /**
+     * Lần đầu (sau khi JobRecommender nạp xong Job lúc khởi động) chạy full batch,
+     * các lần sau chỉ tính lại Seeker bị ảnh hưởng.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.recommendation.refresh-interval:30s}")
+    public void refresh() {
+        if (!recommender.isReady()) return;
+        synchronized (computeLock) {
+            refreshLocked();
+        }
+    }
+
+    private void refreshLocked() {
+        if (!initialized) {
+            rebuildAllLocked();
+            initialized = true;
+            return;
+        }
+
+        Set<String> userIds = new HashSet<>(dirtyUsers);
+        dirtyUsers.removeAll(userIds);
+        userIds.addAll(recommender.drainAffectedSeekers());
+        if (userIds.isEmpty()) return;
+
+        long start = System.currentTimeMillis();
+        List<String> pending = new ArrayList<>(userIds);
+        int refreshed = 0;
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<String> batch = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            refreshed += compute(profileRepository.findByUserIdIn(batch)).size();
+        }
+        log.debug("Refreshed recommendations for {} seekers in {} ms", refreshed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Tính lại toàn bộ (mỗi đêm) để dọn sai lệch tích lũy của incremental.
+     */
+    @Override
+    @Scheduled(cron = "${app.recommendation.rebuild-cron:0 0 3 * * *}")
+    public void rebuildAll() {
+        if (!recommender.isReady()) return;
+        synchronized (computeLock) {
+            rebuildAllLocked();
+        }
+    }
+
+    private void rebuildAllLocked() {
+        long start = System.currentTimeMillis();
+        int pageNumber = 0;
+        long total = 0;
+        Page<JobSeekerProfile> page;
+        do {
+            page = profileRepository.findAll(PageRequest.of(pageNumber++, BATCH_SIZE, Sort.by("id")));
+            total += compute(page.getContent()).size();
+        } while (page.hasNext());
+        log.info("Job recommendations computed for {} seekers in {} ms", total, System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Chấm điểm 1 lô profile song song rồi bulk upsert kết quả.
+     */
+    private List<JobRecommendation> compute(List<JobSeekerProfile> profiles) {
+        if (profiles.isEmpty()) return List.of();
+
+        List<String> profileIds = profiles.stream().map(JobSeekerProfile::getId).toList();
+        Map<String, List<Skill>> skills = referenceMigration.findByReferenceIn(Skill.class, "profileId", profileIds).stream()
+                .collect(Collectors.groupingBy(Skill::getProfileId));
+        Map<String, List<Experience>> experiences = referenceMigration.findByReferenceIn(Experience.class, "profileId", profileIds).stream()
+                .collect(Collectors.groupingBy(Experience::getProfileId));
+
+        Map<String, SeekerVector> vectors = profiles.stream().collect(Collectors.toMap(
+                JobSeekerProfile::getUserId,
+                profile -> recommender.seekerVector(profile,
+                        skills.getOrDefault(profile.getId(), List.of()),
+                        experiences.getOrDefault(profile.getId(), List.of())),
+                (a, b) -> a));
+        vectors.forEach((userId, vector) -> recommender.putSeeker(userId, vector.vector()));
+
+        Map<String, JobSeekerProfile> byUser = profiles.stream()
+                .collect(Collectors.toMap(JobSeekerProfile::getUserId, Function.identity(), (a, b) -> a));
+        Instant now = Instant.now();
+        List<JobRecommendation> results = pool.submit(() -> vectors.entrySet().parallelStream()
+                .map(entry -> JobRecommendation.builder()
+                        .userId(entry.getKey())
+                        .profileId(byUser.get(entry.getKey()).getId())
+                        .jobs(recommender.recommend(entry.getValue(), topK).stream()
+                                .map(job -> new JobRecommendation.ScoredJob(job.jobId(), job.score()))
+                                .toList())
+                        .computedAt(now)
+                        .build())
+                .toList()).join();
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobRecommendation.class);
+        for (JobRecommendation result : results) {
+            bulk.replaceOne(new Query(Criteria.where("_id").is(result.getUserId())), result, FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+        return results;
+    }
+}
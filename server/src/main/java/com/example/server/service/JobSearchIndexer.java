@@ -0,0 +1,272 @@
+package com.example.server.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Service;
+
+import com.example.server.model.Category;
+import com.example.server.model.Job;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+import com.example.server.model.Location;
+import com.example.server.repository.JobRepository;
+import com.example.server.repository.JobSearchRepository;
+import com.example.server.repository.ReferenceMigration;
+import com.example.server.search.JobIndexListener;
+import com.example.server.search.SalaryBands;
+import com.example.server.search.TextNormalizer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đồng bộ read model "job_search" với dữ liệu gốc (jobs, locations, categories).
+ * Mentor Note: JobServiceImpl gọi các hàm index* sau mỗi lần ghi, nhờ vậy search chỉ
+ * cần query 1 collection có index thay vì $lookup toàn bộ collection mỗi lần tìm kiếm.
+ * Sau khi ghi read model, thay đổi được lan tới các index in-memory (JobIndexListener).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobSearchIndexer {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final JobSearchRepository jobSearchRepository;
+    private final JobRepository jobRepository;
+    private final ReferenceMigration referenceMigration;
+    private final List<JobIndexListener> listeners;
+
+    /**
+     * Index Job vừa tạo. Location/Category có thể null (Category là optional).
+     */
+    public JobSearchDocument indexCreated(Job job, Location location, Category category) {
+        JobSearchDocument current = jobSearchRepository.save(toDocument(job, location, category, null));
+        notifyIndexed(null, current);
+        return current;
+    }
+
+    /**
+     * Index nhiều Job vừa tạo (bulk import): 1 lệnh insertMany vào read model cho cả lô.
+     * locations/categories: jobId -> entity (Category có thể thiếu).
+     */
+    public List<JobSearchDocument> indexCreatedAll(List<Job> jobs, Map<String, Location> locations, Map<String, Category> categories) {
+        if (jobs.isEmpty()) return List.of();
+        List<JobSearchDocument> documents = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            documents.add(toDocument(job, locations.get(job.getId()), categories.get(job.getId()), null));
+        }
+        List<JobSearchDocument> created = jobSearchRepository.insert(documents);
+        for (JobIndexListener listener : listeners) {
+            try {
+                listener.onIndexedAll(created);
+            } catch (RuntimeException e) {
+                log.error("{} failed to index {} imported jobs", listener.getClass().getSimpleName(), created.size(), e);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Index lại Job sau khi cập nhật.
+     * Location/Category = null nghĩa là không thay đổi -> giữ giá trị cũ trong read model.
+     */
+    public JobSearchDocument indexUpdated(Job job, Location location, Category category) {
+        JobSearchDocument previous = jobSearchRepository.findById(job.getId()).orElse(null);
+        JobSearchDocument current = jobSearchRepository.save(toDocument(job, location, category, previous));
+        notifyIndexed(previous, current);
+        return current;
+    }
+
+    /**
+     * Đổi status của nhiều Job (đã ghi vào "jobs") bằng 1 lệnh updateMany trên read model,
+     * rồi lan thay đổi tới các index in-memory như 1 lần cập nhật thường.
+     */
+    public void indexStatusChanged(Collection<String> jobIds, JobStatus status, Instant updatedAt) {
+        if (jobIds.isEmpty()) return;
+        Map<String, JobSearchDocument> previous = jobSearchRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(JobSearchDocument::getId, Function.identity()));
+        jobSearchRepository.updateStatusByIdIn(jobIds, status, updatedAt);
+        for (JobSearchDocument current : jobSearchRepository.findAllById(jobIds)) {
+            notifyIndexed(previous.get(current.getId()), current);
+        }
+    }
+
+    public void remove(String jobId) {
+        JobSearchDocument removed = jobSearchRepository.removeById(jobId);
+        if (removed == null) return;
+        for (JobIndexListener listener : listeners) {
+            try {
+                listener.onRemoved(removed);
+            } catch (RuntimeException e) {
+                // Index in-memory lỗi không được làm hỏng thao tác ghi đã thành công
+                log.error("{} failed to remove job {}", listener.getClass().getSimpleName(), jobId, e);
+            }
+        }
+    }
+
+    /**
+     * Khởi động: backfill read model nếu số lượng lệch với collection "jobs"
+     * (ví dụ: lần deploy đầu tiên hoặc dữ liệu được import trực tiếp vào DB),
+     * sau đó nạp các index in-memory từ read model.
+     * Mentor Note: ApplicationReadyEvent chạy sau khi server đã nhận request, trong lúc
+     * index còn "lạnh" thì search tự fallback về MongoDB.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long jobs = jobRepository.countByDeletedAtIsNull();
+        long indexed = jobSearchRepository.count();
+        if (jobs != indexed) {
+            log.info("job_search out of sync (jobs={}, indexed={}), rebuilding", jobs, indexed);
+            rebuild();
+        } else if (isMissingDerivedFields()) {
+            log.info("job_search missing derived fields, rebuilding");
+            rebuild();
+        }
+
+        for (JobIndexListener listener : listeners) {
+            try (Stream<JobSearchDocument> documents = jobSearchRepository.streamAll()) {
+                long start = System.currentTimeMillis();
+                listener.rebuild(documents);
+                log.info("{} loaded in {} ms", listener.getClass().getSimpleName(), System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                log.error("{} failed to load", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Document cũ (ghi trước khi thêm field dẫn xuất mới) chưa có shadow field / salary band.
+     */
+    private boolean isMissingDerivedFields() {
+        return jobSearchRepository.existsByTitleFoldedIsNullAndTitleIsNotNull()
+                || jobSearchRepository.existsByTagsFoldedIsNullAndTagsIsNotNull()
+                || jobSearchRepository.existsBySalaryBandsIsNull();
+    }
+
+    public void rebuild() {
+        int pageNumber = 0;
+        long total = 0;
+        Page<Job> page;
+        do {
+            page = jobRepository.findByDeletedAtIsNull(PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE, Sort.by("id")));
+            if (page.isEmpty()) break;
+
+            // Batch: 1 query $in cho Location và 1 cho Category mỗi lô
+            List<String> jobIds = page.getContent().stream().map(Job::getId).toList();
+            Map<String, Location> locations = referenceMigration.findByReferenceIn(Location.class, "jobId", jobIds).stream()
+                    .collect(Collectors.toMap(Location::getJobId, Function.identity(), (a, b) -> a));
+            Map<String, Category> categories = referenceMigration.findByReferenceIn(Category.class, "jobId", jobIds).stream()
+                    .collect(Collectors.toMap(Category::getJobId, Function.identity(), (a, b) -> a));
+
+            List<JobSearchDocument> documents = new ArrayList<>(page.getNumberOfElements());
+            for (Job job : page.getContent()) {
+                documents.add(toDocument(job, locations.get(job.getId()), categories.get(job.getId()), null));
+            }
+            jobSearchRepository.saveAll(documents);
+            total += documents.size();
+        } while (page.hasNext());
+        long removed = removeOrphans();
+        log.info("job_search rebuilt with {} documents ({} stale removed)", total, removed);
+    }
+
+    /**
+     * saveAll chỉ upsert: document của Job đã xóa (hoặc bị xóa thẳng trong DB) vẫn nằm lại, vẫn search
+     * ra được và làm lệch count -> lần khởi động nào cũng rebuild lại. Duyệt _id của read model theo lô,
+     * xóa những _id không còn Job hoạt động tương ứng (1 query $in + 1 deleteMany mỗi lô).
+     */
+    private long removeOrphans() {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (Stream<JobSearchDocument> documents = jobSearchRepository.streamAllIds()) {
+            for (JobSearchDocument document : (Iterable<JobSearchDocument>) documents::iterator) {
+                batch.add(document.getId());
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    removed += removeOrphans(batch);
+                    batch.clear();
+                }
+            }
+        }
+        return removed + removeOrphans(batch);
+    }
+
+    private long removeOrphans(List<String> ids) {
+        if (ids.isEmpty()) return 0;
+        Set<String> live = jobRepository.findActiveIdsByIdIn(ids).stream().map(Job::getId).collect(Collectors.toSet());
+        List<String> stale = ids.stream().filter(id -> !live.contains(id)).toList();
+        if (!stale.isEmpty()) jobSearchRepository.deleteAllById(stale);
+        return stale.size();
+    }
+
+    private void notifyIndexed(JobSearchDocument previous, JobSearchDocument current) {
+        for (JobIndexListener listener : listeners) {
+            try {
+                listener.onIndexed(previous, current);
+            } catch (RuntimeException e) {
+                log.error("{} failed to index job {}", listener.getClass().getSimpleName(), current.getId(), e);
+            }
+        }
+    }
+
+    private Set<String> foldTags(Set<String> tags) {
+        if (tags == null) return null;
+        return tags.stream().map(TextNormalizer::fold).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private JobSearchDocument toDocument(Job job, Location location, Category category, JobSearchDocument previous) {
+        JobSearchDocument.JobSearchDocumentBuilder builder = JobSearchDocument.builder()
+                .id(job.getId())
+                .title(job.getTitle())
+                .titleFolded(TextNormalizer.fold(job.getTitle()))
+                .companyId(job.getCompanyId())
+                .description(job.getDescription())
+                .employmentType(job.getEmploymentType())
+                .minExperience(job.getMinExperience())
+                .salaryMin(job.getSalaryMin())
+                .salaryMax(job.getSalaryMax())
+                .salaryBands(SalaryBands.bandsOf(job.getSalaryMin(), job.getSalaryMax()))
+                .status(job.getStatus())
+                .deadline(job.getDeadline())
+                .tags(job.getTags())
+                .tagsFolded(foldTags(job.getTags()))
+                .postedByUserId(job.getPostedByUserId())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt());
+
+        if (location != null) {
+            builder.locationId(location.getId()).city(location.getCity()).address(location.getAddress())
+                    .cityFolded(TextNormalizer.fold(location.getCity()))
+                    .position(location.getLatitude() != null && location.getLongitude() != null
+                            ? new GeoJsonPoint(location.getLongitude(), location.getLatitude())
+                            : null);
+        } else if (previous != null) {
+            builder.locationId(previous.getLocationId()).city(previous.getCity()).address(previous.getAddress())
+                    .cityFolded(previous.getCityFolded())
+                    .position(previous.getPosition());
+        }
+
+        if (category != null) {
+            builder.categoryId(category.getId()).categoryName(category.getName())
+                    .categoryNameFolded(TextNormalizer.fold(category.getName()));
+        } else if (previous != null) {
+            builder.categoryId(previous.getCategoryId()).categoryName(previous.getCategoryName())
+                    .categoryNameFolded(previous.getCategoryNameFolded());
+        }
+        return builder.build();
+    }
+}
@@ -36,6 +36,7 @@ public class JobSeekerProfileServiceImpl implements JobSeekerProfileService {
     private final EducationRepository educationRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final JobRecommendationService jobRecommendationService;
 
     @Override
     public Page<JobSeekerProfileDtos.JobSeekerProfileDto> getAllProfiles(Pageable pageable) {
@@ -108,6 +109,8 @@ public class JobSeekerProfileServiceImpl implements JobSeekerProfileService {
             projectRepository.saveAll(projects);
         }
 
+        // Skill/Experience thay đổi -> gợi ý việc làm được tính lại ở lần refresh kế tiếp
+        jobRecommendationService.markProfileChanged(userId);
         return toDto(savedProfile);
     }
 
@@ -178,6 +181,8 @@ public class JobSeekerProfileServiceImpl implements JobSeekerProfileService {
             projectRepository.saveAll(newProjs);
         }
 
+        // Skill/Experience thay đổi -> gợi ý việc làm được tính lại ở lần refresh kế tiếp
+        jobRecommendationService.markProfileChanged(userId);
         return toDto(savedProfile);
     }
 
@@ -1,18 +1,36 @@
 package com.example.server.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.example.server.dto.JobDtos.CreateJobDto;
+import com.example.server.dto.JobDtos.JobCursorPage;
 import com.example.server.dto.JobDtos.JobDto;
 import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.dto.JobDtos.JobSearchWithFacets;
+import com.example.server.dto.JobDtos.JobSuggestion;
+import com.example.server.dto.JobDtos.JobSummaryDto;
 import com.example.server.dto.JobDtos.UpdateJobDto;
 
 public interface JobService {
     Page<JobDto> searchJobs(JobSearchRequest request, Pageable pageable);
+    Page<JobSummaryDto> searchJobSummaries(JobSearchRequest request, Pageable pageable);
+    JobSearchWithFacets searchJobsWithFacets(JobSearchRequest request, Pageable pageable);
+    JobCursorPage searchJobsByCursor(JobSearchRequest request, String cursor, int size, boolean withTotal);
+    List<JobSuggestion> suggest(String prefix, int limit);
+    void exportJobs(JobSearchRequest request, Instant updatedSince, OutputStream out) throws IOException;
     JobDto getJobById(String id);
+    JobDto viewJob(String id);
     JobDto createJob(CreateJobDto createDto);
     JobDto updateJob(String id, UpdateJobDto updateDto);
     void deleteJob(String id);
     Page<JobDto> getJobsByCompanyId(String companyId, Pageable pageable);
+    Page<JobSummaryDto> getJobSummariesByCompanyId(String companyId, Pageable pageable);
+    List<JobSummaryDto> getJobSummaries(List<String> ids);
+    List<JobSummaryDto> getSimilarJobs(String id, int limit);
 }
\ No newline at end of file
@@ -1,32 +1,68 @@
 package com.example.server.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.example.server.dto.JobDtos.CategoryDto;
 import com.example.server.dto.JobDtos.CompanyDto;
 import com.example.server.dto.JobDtos.CreateJobDto;
+import com.example.server.dto.JobDtos.JobCursorPage;
+import com.example.server.dto.JobDtos.JobDeletionDto;
 import com.example.server.dto.JobDtos.JobDto;
 import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.dto.JobDtos.JobSearchWithFacets;
+import com.example.server.dto.JobDtos.JobSuggestion;
+import com.example.server.dto.JobDtos.JobSummaryDto;
 import com.example.server.dto.JobDtos.LocationDto;
+import com.example.server.dto.JobDtos.UpdateCategoryDto;
 import com.example.server.dto.JobDtos.UpdateJobDto;
+import com.example.server.dto.JobDtos.UpdateLocationDto;
+import com.example.server.exception.DuplicateJobException;
 import com.example.server.exception.NotFoundException; // Giả định class này đã tồn tại theo dev-workflow
 import com.example.server.model.Category;
 import com.example.server.model.Company;
 import com.example.server.model.Job;
+import com.example.server.model.JobSearchDocument;
 import com.example.server.model.JobStatus;
 import com.example.server.model.JobType;
 import com.example.server.model.Location;
 import com.example.server.repository.CategoryRepository;
-import com.example.server.repository.ApplicationRepository;
 import com.example.server.repository.CompanyRepository;
 import com.example.server.repository.JobRepository;
+import com.example.server.repository.JobRepositoryCustom.FacetedPage;
 import com.example.server.repository.LocationRepository;
+import com.example.server.repository.ReferenceMigration;
+import com.example.server.search.JobCatalog;
+import com.example.server.search.JobLuceneIndex;
+import com.example.server.search.JobSearchCache;
+import com.example.server.search.JobSearchCursor;
+import com.example.server.search.JobFingerprintIndex;
+import com.example.server.search.JobSimilarityIndex;
+import com.example.server.search.JobSuggester;
+import com.example.server.search.TextNormalizer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,34 +70,242 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JobServiceImpl implements JobService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final byte[] NEWLINE = { '\n' };
+    // Lock theo công ty (striped) cho kiểm tra trùng + insert trong createJob
+    private static final int DUPLICATE_LOCK_STRIPES = 64;
+
     private final JobRepository jobRepository;
     private final CompanyRepository companyRepository;
     private final LocationRepository locationRepository;
     private final CategoryRepository categoryRepository;
-    private final ApplicationRepository applicationRepository;
+    private final ReferenceMigration referenceMigration;
+    private final JobViewCounter jobViewCounter;
+    private final JobSearchIndexer jobSearchIndexer;
+    private final JobLuceneIndex jobLuceneIndex;
+    private final JobCatalog jobCatalog;
+    private final JobSearchCache jobSearchCache;
+    private final JobSuggester jobSuggester;
+    private final JobSimilarityIndex jobSimilarityIndex;
+    private final JobFingerprintIndex jobFingerprintIndex;
+    private final ObjectMapper objectMapper;
+
+    // Cận dưới của các khoảng lương trong facet (tăng dần), khoảng cuối là "từ X trở lên"
+    @Value("${app.search.facets.salary-buckets:0,5000000,10000000,15000000,20000000,30000000,50000000}")
+    private List<Double> salaryFacetBoundaries;
+
+    @Value("${app.jobs.duplicate.policy:REJECT}")
+    private DuplicateJobPolicy duplicatePolicy;
+
+    private final Object[] duplicateLocks = newLocks(DUPLICATE_LOCK_STRIPES);
 
     @Override
     public Page<JobDto> searchJobs(JobSearchRequest request, Pageable pageable) {
-        // 1. Gọi Repository để lấy Page<Entity>
-        // Mentor Note: Chúng ta dùng Custom Repository để xử lý dynamic query phức tạp
-        Page<Job> jobPage = jobRepository.searchJobs(request, pageable);
+        // 1. Lấy Page<Entity>, ưu tiên cache (trang Job ID + tổng) cho các tổ hợp filter lặp lại
+        // Cache miss: giữ lại Page<Job> vừa load để không phải query lại theo ID
+        AtomicReference<Page<Job>> loaded = new AtomicReference<>();
+        Page<String> idPage = jobSearchCache.get(request, pageable, () -> {
+            Page<Job> page = loadJobPage(request, pageable);
+            loaded.set(page);
+            return page.map(Job::getId);
+        });
+        Page<Job> jobPage = loaded.get() != null ? loaded.get() : findAllInOrder(idPage);
 
         // 2. Mapping từ Entity sang DTO
         // Mentor Note: Page.map() là method cực kỳ hữu ích, nó lazy-map từng phần tử
         // và giữ nguyên thông tin phân trang (totalElements, totalPages).
-        return jobPage.map(this::toDto);
+        // Quan hệ (Company/Location/Category) được fetch theo lô cho cả trang (tránh N+1).
+        return toDtoPage(jobPage);
+    }
+
+    /**
+     * Mentor Note: Có keyword -> Lucene (BM25) trả về ID đã xếp hạng rồi hydrate từ MongoDB.
+     * Không có keyword -> JobCatalog (bitmap in-memory) trả về ID, không query MongoDB để lọc.
+     * Index/catalog chưa sẵn sàng -> Custom Repository query read model.
+     */
+    private Page<Job> loadJobPage(JobSearchRequest request, Pageable pageable) {
+        Page<String> idPage = searchIndexes(request, pageable);
+        return idPage != null ? findAllInOrder(idPage) : jobRepository.searchJobs(request, pageable);
+    }
+
+    /**
+     * Trang Job ID từ Lucene/JobCatalog, null nếu request phải chạy trên MongoDB.
+     */
+    private Page<String> searchIndexes(JobSearchRequest request, Pageable pageable) {
+        // Keyword + bán kính: Lucene lọc khoảng cách (LatLonPoint). Chỉ có bán kính: JobCatalog không có
+        // tọa độ (supports = false) -> MongoDB $nearSphere
+        if (StringUtils.hasText(request.keyword()) && jobLuceneIndex.isReady() && jobLuceneIndex.supports(pageable)) {
+            return jobLuceneIndex.search(request, pageable);
+        }
+        if (jobCatalog.isReady() && jobCatalog.supports(request, pageable)) {
+            return jobCatalog.search(request, pageable);
+        }
+        return null;
+    }
+
+    @Override
+    public Page<JobSummaryDto> searchJobSummaries(JobSearchRequest request, Pageable pageable) {
+        // Mentor Note: Cùng đường đi với searchJobs (cache trang ID dùng chung cho cả 2 view),
+        // chỉ khác bước hydrate: đọc read model với projection thay vì Job đầy đủ.
+        AtomicReference<Page<JobSearchDocument>> loaded = new AtomicReference<>();
+        Page<String> idPage = jobSearchCache.get(request, pageable, () -> {
+            Page<String> ids = searchIndexes(request, pageable);
+            if (ids != null) return ids;
+            Page<JobSearchDocument> page = jobRepository.searchJobSummaries(request, pageable);
+            loaded.set(page);
+            return page.map(JobSearchDocument::getId);
+        });
+        Page<JobSearchDocument> summaryPage = loaded.get() != null ? loaded.get() : findSummariesInOrder(idPage);
+        return toSummaryPage(summaryPage);
+    }
+
+    @Override
+    public JobSearchWithFacets searchJobsWithFacets(JobSearchRequest request, Pageable pageable) {
+        // Mentor Note: Kết quả + facet counts tính trong cùng 1 aggregation trên read model,
+        // không gọi searchJobs N lần cho N facet.
+        FacetedPage result = jobRepository.searchJobsWithFacets(request, pageable, salaryFacetBoundaries);
+        return new JobSearchWithFacets(toDtoPage(result.page()), result.facets());
+    }
+
+    @Override
+    public List<JobSuggestion> suggest(String prefix, int limit) {
+        // Mentor Note: Phục vụ hoàn toàn từ FST in-memory, không query MongoDB theo từng phím gõ.
+        return jobSuggester.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * Export NDJSON (1 JobDto mỗi dòng) cho đối tác đồng bộ catalog.
+     * Mentor Note: Bộ nhớ cố định - chỉ giữ 1 lô (EXPORT_BATCH_SIZE) để hydrate Company bằng 1 query $in.
+     * Backpressure: out.write() bị chặn khi client đọc chậm -> không đọc tiếp cursor (không getMore).
+     * Client ngắt kết nối -> IOException, cursor được đóng bởi try-with-resources.
+     * Có updatedSince: sau các JobDto là dòng báo xóa {"id","deleted":true,"deletedAt"} của mọi Job bị xóa
+     * từ mốc đó (đọc tombstone trong "jobs", không áp filter - Job đã xóa không còn field để lọc).
+     */
+    @Override
+    public void exportJobs(JobSearchRequest request, Instant updatedSince, OutputStream out) throws IOException {
+        List<JobSearchDocument> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        try (Stream<JobSearchDocument> documents = jobRepository.streamJobs(request, updatedSince)) {
+            Iterator<JobSearchDocument> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    writeExportBatch(batch, out);
+                    batch.clear();
+                }
+            }
+        }
+        writeExportBatch(batch, out);
+        if (updatedSince != null) writeDeletions(updatedSince, out);
+    }
+
+    private void writeDeletions(Instant since, OutputStream out) throws IOException {
+        try (Stream<Job> deleted = jobRepository.streamDeletedSince(since)) {
+            Iterator<Job> iterator = deleted.iterator();
+            while (iterator.hasNext()) {
+                Job job = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(new JobDeletionDto(job.getId(), true, job.getDeletedAt())));
+                out.write(NEWLINE);
+            }
+        }
+        out.flush();
+    }
+
+    private void writeExportBatch(List<JobSearchDocument> batch, OutputStream out) throws IOException {
+        if (batch.isEmpty()) return;
+        Set<String> companyIds = batch.stream()
+                .map(JobSearchDocument::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, CompanyDto> companyMap = companyIds.isEmpty() ? Map.of() : companyRepository.findAllById(companyIds).stream()
+                .collect(Collectors.toMap(Company::getId, this::toCompanyDto));
+
+        for (JobSearchDocument doc : batch) {
+            out.write(objectMapper.writeValueAsBytes(toDto(doc, companyMap.get(doc.getCompanyId()))));
+            out.write(NEWLINE);
+        }
+        out.flush();
+    }
+
+    @Override
+    public JobCursorPage searchJobsByCursor(JobSearchRequest request, String cursor, int size, boolean withTotal) {
+        JobSearchCursor after = StringUtils.hasText(cursor) ? JobSearchCursor.decode(cursor) : null;
+        boolean useLucene = StringUtils.hasText(request.keyword()) && jobLuceneIndex.isReady();
+
+        // Lấy dư 1 phần tử để biết còn trang sau hay không (không cần $count)
+        List<Job> jobs;
+        if (useLucene) {
+            jobs = findAllInOrder(jobLuceneIndex.searchAfter(request, after, size + 1));
+        } else {
+            jobs = jobRepository.searchJobsAfter(request, after, size + 1);
+        }
+
+        boolean hasNext = jobs.size() > size;
+        if (hasNext) jobs = jobs.subList(0, size);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Job last = jobs.get(jobs.size() - 1);
+            nextCursor = new JobSearchCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        Long total = null;
+        if (withTotal) {
+            total = useLucene ? jobLuceneIndex.count(request) : jobRepository.countJobs(request);
+        }
+
+        List<JobDto> content = toDtoPage(new PageImpl<>(jobs)).getContent();
+        return new JobCursorPage(content, size, nextCursor, hasNext, total);
     }
 
     @Override
     public JobDto getJobById(String id) {
-        return jobRepository.findById(id)
+        return jobRepository.findActiveById(id)
                 .map(this::toDto)
                 .orElseThrow(() -> new NotFoundException("Job not found with id: " + id));
     }
 
+    /**
+     * Chi tiết Job cho người xem (GET /api/jobs/{id}): như getJobById và tính thêm 1 lượt xem.
+     * Chỉ tăng bộ đếm in-memory, JobViewCounter flush xuống DB theo chu kỳ.
+     */
+    @Override
+    public JobDto viewJob(String id) {
+        JobDto job = getJobById(id);
+        jobViewCounter.increment(id);
+        return job;
+    }
+
+    /**
+     * "Việc làm tương tự": ứng viên lấy từ LSH index in-memory, chỉ hydrate top-N summary.
+     * Index chưa sẵn sàng (đang khởi động) -> trả về rỗng thay vì quét DB.
+     */
+    @Override
+    public List<JobSummaryDto> getSimilarJobs(String id, int limit) {
+        if (!jobSimilarityIndex.isReady()) return List.of();
+        List<String> similarIds = jobSimilarityIndex.similar(id, limit);
+        if (similarIds == null) throw new NotFoundException("Job not found with id: " + id);
+        return getJobSummaries(similarIds);
+    }
+
     @Override
     public Page<JobDto> getJobsByCompanyId(String companyId, Pageable pageable) {
-        return jobRepository.findByCompanyId(companyId, pageable).map(this::toDto);
+        return toDtoPage(jobRepository.findByCompanyIdAndDeletedAtIsNull(companyId, pageable));
+    }
+
+    @Override
+    public Page<JobSummaryDto> getJobSummariesByCompanyId(String companyId, Pageable pageable) {
+        return toSummaryPage(jobRepository.findSummariesByCompanyId(companyId, pageable));
+    }
+
+    /**
+     * Summary theo đúng thứ tự ids (ID không còn tồn tại bị bỏ qua).
+     */
+    @Override
+    public List<JobSummaryDto> getJobSummaries(List<String> ids) {
+        if (ids.isEmpty()) return List.of();
+        Page<String> idPage = new PageImpl<>(ids);
+        return toSummaryPage(findSummariesInOrder(idPage)).getContent();
     }
 
     @Override
@@ -71,7 +315,27 @@ public class JobServiceImpl implements JobService {
         if (!companyRepository.existsById(dto.companyId())) {
             throw new NotFoundException("Company not found with id: " + dto.companyId());
         }
-        
+
+        if (duplicatePolicy == DuplicateJobPolicy.ALLOW) return insertJob(dto);
+
+        // Tin đăng lại gần như nguyên văn -> không tạo thêm Job/Location/Category rác
+        // Mentor Note: Kiểm tra + insert + index nằm trong cùng lock của công ty: 2 POST giống hệt gửi cùng lúc
+        // thì request sau chắc chắn thấy Job của request trước trong JobFingerprintIndex.
+        // Lock chỉ trong 1 instance - chạy nhiều instance thì kiểm tra trùng vẫn là best-effort.
+        synchronized (duplicateLock(dto.companyId())) {
+            if (jobFingerprintIndex.isReady()) {
+                long fingerprint = JobFingerprintIndex.fingerprint(dto.companyId(), dto.title(), dto.description());
+                Optional<String> duplicate = jobFingerprintIndex.findDuplicate(dto.companyId(), fingerprint);
+                if (duplicate.isPresent()) {
+                    if (duplicatePolicy == DuplicateJobPolicy.REJECT) throw new DuplicateJobException(duplicate.get());
+                    return updateJob(duplicate.get(), toUpdateDto(dto));
+                }
+            }
+            return insertJob(dto);
+        }
+    }
+
+    private JobDto insertJob(CreateJobDto dto) {
         // 2. Tạo và lưu Job (Parent Entity) trước để lấy ID
         Job job = Job.builder()
                 .title(dto.title())
@@ -97,124 +361,260 @@ public class JobServiceImpl implements JobService {
                 .address(dto.location().address())
                 .jobId(savedJob.getId()) // Link ngược về Job
                 .build();
-        locationRepository.save(location);
+        Location savedLocation = locationRepository.save(location);
 
         // 4. Tạo và lưu Category (Weak Entity) - Optional
+        Category savedCategory = null;
         if (dto.category() != null) {
             Category category = Category.builder()
                     .name(dto.category().name())
                     .jobId(savedJob.getId()) // Link ngược về Job
                     .build();
-            categoryRepository.save(category);
+            savedCategory = categoryRepository.save(category);
         }
+
+        // 5. Đồng bộ read model phục vụ search
+        jobSearchIndexer.indexCreated(savedJob, savedLocation, savedCategory);
         
         return toDto(savedJob);
     }
 
     @Override
     public JobDto updateJob(String id, UpdateJobDto dto) {
-        Job job = jobRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Job not found with id: " + id));
+        if (!jobRepository.existsByIdAndDeletedAtIsNull(id)) {
+            throw new NotFoundException("Job not found with id: " + id);
+        }
 
-        // Partial Update Logic
-        if (StringUtils.hasText(dto.title())) job.setTitle(dto.title());
-        if (StringUtils.hasText(dto.description())) job.setDescription(dto.description());
-        
-        // Update Location (Composite Update)
+        // Tìm Location thuộc về Job này (đọc được cả jobId dạng String cũ lẫn ObjectId)
+        Location location = null;
         if (dto.location() != null) {
-            // Tìm Location thuộc về Job này (dùng Example để không phải sửa Repository Interface)
-            Location location = locationRepository.findOne(Example.of(Location.builder().jobId(id).build()))
+            location = referenceMigration.findOneByReference(Location.class, "jobId", id)
                     .orElseThrow(() -> new NotFoundException("Location not found for job: " + id));
-            
+        }
+
+        // Partial Update Logic
+        // Mentor Note: Chỉ $set các field thay đổi, có điều kiện deletedAt = null (xem JobRepositoryCustom.updateActive).
+        // save() cả document sẽ hồi sinh Job bị xóa giữa lúc đọc và ghi, và ghi đè viewCount.
+        Update update = new Update();
+        if (StringUtils.hasText(dto.title())) {
+            update.set("title", dto.title()).set("titleFolded", TextNormalizer.fold(dto.title()));
+        }
+        if (StringUtils.hasText(dto.description())) update.set("description", dto.description());
+        if (dto.employmentType() != null) update.set("employmentType", dto.employmentType());
+        if (dto.minExperience() != null) update.set("minExperience", dto.minExperience());
+        if (dto.salaryMin() != null) update.set("salaryMin", dto.salaryMin());
+        if (dto.salaryMax() != null) update.set("salaryMax", dto.salaryMax());
+        if (dto.status() != null) update.set("status", dto.status());
+        if (dto.deadline() != null) update.set("deadline", dto.deadline());
+        if (dto.tags() != null) update.set("tags", dto.tags());
+        update.set("updatedAt", Instant.now());
+
+        Job savedJob = jobRepository.updateActive(id, update);
+        if (savedJob == null) {
+            throw new NotFoundException("Job not found with id: " + id);
+        }
+
+        // Update Location (Composite Update)
+        Location updatedLocation = null;
+        if (location != null) {
             if (StringUtils.hasText(dto.location().city())) location.setCity(dto.location().city());
             if (StringUtils.hasText(dto.location().address())) location.setAddress(dto.location().address());
-            locationRepository.save(location);
+            updatedLocation = locationRepository.save(location);
         }
 
         // Update Category (Composite Update)
+        Category updatedCategory = null;
         if (dto.category() != null) {
-            Category category = categoryRepository.findOne(Example.of(Category.builder().jobId(id).build()))
+            Category category = referenceMigration.findOneByReference(Category.class, "jobId", id)
                     .orElse(null);
             
             // Nếu chưa có category thì tạo mới, có rồi thì update
             if (category != null) {
                 if (StringUtils.hasText(dto.category().name())) category.setName(dto.category().name());
-                categoryRepository.save(category);
+                updatedCategory = categoryRepository.save(category);
             } else {
                 Category newCategory = Category.builder()
                         .name(dto.category().name())
                         .jobId(id)
                         .build();
-                categoryRepository.save(newCategory);
+                updatedCategory = categoryRepository.save(newCategory);
             }
         }
 
-        if (dto.employmentType() != null) job.setEmploymentType(dto.employmentType());
-        if (dto.minExperience() != null) job.setMinExperience(dto.minExperience());
-        if (dto.salaryMin() != null) job.setSalaryMin(dto.salaryMin());
-        if (dto.salaryMax() != null) job.setSalaryMax(dto.salaryMax());
-        if (dto.status() != null) job.setStatus(dto.status());
-        if (dto.deadline() != null) job.setDeadline(dto.deadline());
-        if (dto.tags() != null) job.setTags(dto.tags());
-
-        job.setUpdatedAt(Instant.now());
-        return toDto(jobRepository.save(job));
+        // Đồng bộ read model (Location/Category null = không đổi)
+        jobSearchIndexer.indexUpdated(savedJob, updatedLocation, updatedCategory);
+        return toDto(savedJob);
     }
 
     @Override
     public void deleteJob(String id) {
-        if (!jobRepository.existsById(id)) {
+        // Mentor Note: Chỉ đánh dấu xóa (1 lệnh ghi). Location/Category/Application và bản thân Job
+        // được JobTombstoneSweeper dọn theo lô ở background -> request không phải chờ cascade.
+        if (jobRepository.markDeleted(id, Instant.now()) == 0) {
             throw new NotFoundException("Job not found with id: " + id);
         }
-        
-        // Cleanup Weak Entities (Orphan Removal)
-        Location location = locationRepository.findOne(Example.of(Location.builder().jobId(id).build())).orElse(null);
-        if (location != null) locationRepository.delete(location);
 
-        Category category = categoryRepository.findOne(Example.of(Category.builder().jobId(id).build())).orElse(null);
-        if (category != null) categoryRepository.delete(category);
+        // Gỡ khỏi read model ngay để search/gợi ý không còn trả về Job đã xóa
+        jobSearchIndexer.remove(id);
+    }
+
+    /**
+     * Load Job theo danh sách ID (1 query $in) và giữ nguyên thứ tự đã xếp hạng.
+     */
+    private Page<Job> findAllInOrder(Page<String> idPage) {
+        return new PageImpl<>(findAllInOrder(idPage.getContent()), idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    private List<Job> findAllInOrder(List<String> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<String, Job> jobMap = jobRepository.findAllById(ids).stream()
+                .filter(job -> job.getDeletedAt() == null)
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        return ids.stream()
+                .map(jobMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Page<JobSearchDocument> findSummariesInOrder(Page<String> idPage) {
+        Map<String, JobSearchDocument> summaryMap = jobRepository.findSummariesById(idPage.getContent()).stream()
+                .collect(Collectors.toMap(JobSearchDocument::getId, Function.identity()));
+        List<JobSearchDocument> ordered = idPage.getContent().stream()
+                .map(summaryMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ordered, idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    /**
+     * Read model đã có sẵn city -> chỉ còn 1 query $in lấy Company cho cả trang.
+     */
+    private Page<JobSummaryDto> toSummaryPage(Page<JobSearchDocument> summaryPage) {
+        Set<String> companyIds = summaryPage.getContent().stream()
+                .map(JobSearchDocument::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, CompanyDto> companyMap = companyIds.isEmpty() ? Map.of() : companyRepository.findAllById(companyIds).stream()
+                .collect(Collectors.toMap(Company::getId, this::toCompanyDto));
+
+        return summaryPage.map(summary -> new JobSummaryDto(
+            summary.getId(),
+            summary.getTitle(),
+            companyMap.get(summary.getCompanyId()),
+            summary.getCity(),
+            summary.getEmploymentType(),
+            summary.getSalaryMin(),
+            summary.getSalaryMax(),
+            summary.getTags(),
+            summary.getStatus(),
+            summary.getDeadline(),
+            summary.getCreatedAt()
+        ));
+    }
+
+    /**
+     * Batch hydration cho 1 trang Job.
+     * Mentor Note: Thay vì 3 query cho mỗi Job (Company, Location, Category), ta gom ID
+     * của cả trang lại và query mỗi collection đúng 1 lần bằng $in, rồi map trong bộ nhớ.
+     * Số round trip cố định (3) không phụ thuộc vào page size.
+     */
+    private Page<JobDto> toDtoPage(Page<Job> jobPage) {
+        if (jobPage.isEmpty()) {
+            return jobPage.map(this::toDto);
+        }
+
+        Set<String> companyIds = jobPage.getContent().stream()
+                .map(Job::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<String> jobIds = jobPage.getContent().stream()
+                .map(Job::getId)
+                .toList();
 
-        // Cleanup Applications (Cascading Delete)
-        applicationRepository.deleteByJobId(id);
+        Map<String, Company> companyMap = companyRepository.findAllById(companyIds).stream()
+                .collect(Collectors.toMap(Company::getId, Function.identity()));
+        Map<String, Location> locationMap = referenceMigration.findByReferenceIn(Location.class, "jobId", jobIds).stream()
+                .collect(Collectors.toMap(Location::getJobId, Function.identity(), (a, b) -> a));
+        Map<String, Category> categoryMap = referenceMigration.findByReferenceIn(Category.class, "jobId", jobIds).stream()
+                .collect(Collectors.toMap(Category::getJobId, Function.identity(), (a, b) -> a));
 
-        jobRepository.deleteById(id);
+        return jobPage.map(job -> toDto(
+            job,
+            companyMap.get(job.getCompanyId()),
+            locationMap.get(job.getId()),
+            categoryMap.get(job.getId())
+        ));
     }
 
     /**
      * Helper method: Chuyển đổi từ Job Entity sang JobDto.
      * Mentor Note: Chúng ta tách hàm này ra để tái sử dụng và giữ code clean.
-     * Cần xử lý kỹ các trường hợp null của các object lồng nhau (Company, Location).
+     * Dùng cho 1 Job đơn lẻ (chi tiết, tạo, sửa). Danh sách thì dùng toDtoPage().
      */
     private JobDto toDto(Job job) {
         if (job == null) return null;
 
-        // 1. Fetch Company (Reference)
         // Vì Job chỉ lưu companyId, ta cần fetch Company để lấy thông tin hiển thị
         Company company = companyRepository.findById(job.getCompanyId()).orElse(null);
-        CompanyDto companyDto = null;
-        if (company != null) {
-            companyDto = new CompanyDto(
-                company.getId(),
-                company.getName(),
-                company.getLogoUrl(),
-                company.getWebsite()
-            );
-        }
+        // Location/Category là Weak Entity - tìm theo JobId
+        Location location = referenceMigration.findOneByReference(Location.class, "jobId", job.getId()).orElse(null);
+        Category category = referenceMigration.findOneByReference(Category.class, "jobId", job.getId()).orElse(null);
+
+        return toDto(job, company, location, category);
+    }
+
+    /**
+     * Mapping từ read model (đã có sẵn location/category) sang JobDto, dùng cho export.
+     */
+    private JobDto toDto(JobSearchDocument doc, CompanyDto company) {
+        GeoJsonPoint position = doc.getPosition();
+        LocationDto location = doc.getLocationId() != null
+            ? new LocationDto(doc.getLocationId(), doc.getId(), doc.getCity(), doc.getAddress(),
+                position != null ? position.getY() : null, position != null ? position.getX() : null)
+            : null;
+        CategoryDto category = doc.getCategoryId() != null
+            ? new CategoryDto(doc.getCategoryId(), doc.getId(), doc.getCategoryName())
+            : null;
+
+        return new JobDto(
+            doc.getId(),
+            doc.getTitle(),
+            company,
+            doc.getDescription(),
+            location,
+            doc.getEmploymentType(),
+            doc.getMinExperience(),
+            doc.getSalaryMin(),
+            doc.getSalaryMax(),
+            category,
+            doc.getStatus(),
+            doc.getDeadline(),
+            doc.getTags(),
+            doc.getPostedByUserId(),
+            doc.getCreatedAt(),
+            doc.getUpdatedAt(),
+            null
+        );
+    }
+
+    /**
+     * Mapping thuần (không query DB). Cần xử lý kỹ các trường hợp null của các object lồng nhau.
+     */
+    private JobDto toDto(Job job, Company company, Location location, Category category) {
+        CompanyDto companyDto = company != null ? toCompanyDto(company) : null;
 
-        // 2. Fetch Location (Weak Entity - by JobId)
-        Location location = locationRepository.findOne(Example.of(Location.builder().jobId(job.getId()).build())).orElse(null);
         LocationDto locationDto = null;
         if (location != null) {
             locationDto = new LocationDto(
                 location.getId(),
                 location.getJobId(),
                 location.getCity(),
-                location.getAddress()
+                location.getAddress(),
+                location.getLatitude(),
+                location.getLongitude()
             );
         }
 
-        // 3. Fetch Category (Weak Entity - by JobId)
-        Category category = categoryRepository.findOne(Example.of(Category.builder().jobId(job.getId()).build())).orElse(null);
         CategoryDto categoryDto = null;
         if (category != null) {
             categoryDto = new CategoryDto(
@@ -224,7 +624,6 @@ public class JobServiceImpl implements JobService {
             );
         }
 
-        // 4. Construct Main DTO
         return new JobDto(
             job.getId(),
             job.getTitle(),
@@ -241,7 +640,46 @@ public class JobServiceImpl implements JobService {
             job.getTags(),
             job.getPostedByUserId(),
             job.getCreatedAt(),
-            job.getUpdatedAt()
+            job.getUpdatedAt(),
+            (job.getViewCount() != null ? job.getViewCount() : 0) + jobViewCounter.pending(job.getId())
+        );
+    }
+
+    /**
+     * MERGE: tin đăng lại ghi đè nội dung tin cũ và mở lại tin (nếu đang ẩn).
+     */
+    private UpdateJobDto toUpdateDto(CreateJobDto dto) {
+        return new UpdateJobDto(
+            dto.title(),
+            dto.description(),
+            dto.location() != null ? new UpdateLocationDto(dto.location().city(), dto.location().address()) : null,
+            dto.category() != null ? new UpdateCategoryDto(dto.category().name()) : null,
+            dto.employmentType(),
+            dto.minExperience(),
+            dto.salaryMin(),
+            dto.salaryMax(),
+            JobStatus.OPEN,
+            dto.deadline(),
+            dto.tags()
+        );
+    }
+
+    private Object duplicateLock(String companyId) {
+        return duplicateLocks[Math.floorMod(companyId.hashCode(), duplicateLocks.length)];
+    }
+
+    private static Object[] newLocks(int stripes) {
+        Object[] locks = new Object[stripes];
+        for (int i = 0; i < stripes; i++) locks[i] = new Object();
+        return locks;
+    }
+
+    private CompanyDto toCompanyDto(Company company) {
+        return new CompanyDto(
+            company.getId(),
+            company.getName(),
+            company.getLogoUrl(),
+            company.getWebsite()
         );
     }
-}
\ No newline at end of file
+}
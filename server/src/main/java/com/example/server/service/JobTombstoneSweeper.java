@@ -0,0 +1,118 @@
+package com.example.server.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.server.model.Application;
+import com.example.server.model.Category;
+import com.example.server.model.Job;
+import com.example.server.model.Location;
+import com.example.server.repository.JobRepository;
+import com.example.server.repository.ReferenceMigration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dọn dữ liệu phụ thuộc của các Job đã bị đánh dấu xóa (deletedAt != null).
+ * Mentor Note: Mỗi lô 1 lệnh deleteMany ($in) cho từng collection Location/Category/Application,
+ * sau cùng mới đánh dấu Job đã dọn (sweptAt) -> nếu lỗi giữa chừng, lần chạy sau làm lại
+ * (mọi bước đều idempotent). Lỗi liên tiếp thì giãn lịch chạy theo cấp số nhân (tối đa max-backoff).
+ * Bản thân tombstone được giữ thêm tombstone-retention để export incremental (updatedSince) còn báo được
+ * Job đã xóa cho đối tác, hết hạn mới bị xóa hẳn khỏi "jobs".
+ * Metrics: jobs.sweeper.deleted{collection}, jobs.sweeper.failures, jobs.sweeper.run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobTombstoneSweeper {
+
+    private final JobRepository jobRepository;
+    private final ReferenceMigration referenceMigration;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jobs.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.jobs.sweeper.max-batches:20}")
+    private int maxBatches;
+
+    @Value("${app.jobs.sweeper.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${app.jobs.sweeper.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    private int consecutiveFailures;
+    private Instant nextAttempt = Instant.MIN;
+
+    @Scheduled(fixedDelayString = "${app.jobs.sweeper.interval:10s}")
+    public void sweep() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextAttempt)) return;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            int swept = 0;
+            for (int i = 0; i < maxBatches; i++) {
+                List<String> ids = jobRepository.findTombstones(PageRequest.of(0, batchSize)).stream()
+                        .map(Job::getId)
+                        .toList();
+                if (ids.isEmpty()) break;
+                swept += sweepBatch(ids);
+                if (ids.size() < batchSize) break;
+            }
+            if (swept > 0) log.info("Swept {} deleted jobs", swept);
+            purgeExpired(now);
+            consecutiveFailures = 0;
+            nextAttempt = Instant.MIN;
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            Duration backoff = backoff(consecutiveFailures);
+            nextAttempt = now.plus(backoff);
+            meterRegistry.counter("jobs.sweeper.failures").increment();
+            log.error("Job tombstone sweep failed ({} in a row), retrying in {}", consecutiveFailures, backoff, e);
+        } finally {
+            sample.stop(meterRegistry.timer("jobs.sweeper.run"));
+        }
+    }
+
+    private int sweepBatch(List<String> ids) {
+        recordDeleted("locations", referenceMigration.removeByReferenceIn(Location.class, "jobId", ids));
+        recordDeleted("categories", referenceMigration.removeByReferenceIn(Category.class, "jobId", ids));
+        recordDeleted("applications", referenceMigration.removeByReferenceIn(Application.class, "jobId", ids));
+
+        // Chỉ đánh dấu Job vẫn còn tombstone (không đụng Job được ghi lại cùng _id, nếu có)
+        return (int) mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids).and("deletedAt").ne(null)),
+                new Update().set("sweptAt", Instant.now()), Job.class).getModifiedCount();
+    }
+
+    // Tombstone đã dọn và quá retention: 1 lệnh deleteMany (dùng index deletedAt)
+    private void purgeExpired(Instant now) {
+        Query expired = new Query(Criteria.where("deletedAt").lt(now.minus(tombstoneRetention)).and("sweptAt").ne(null));
+        recordDeleted("jobs", mongoTemplate.remove(expired, Job.class).getDeletedCount());
+    }
+
+    private void recordDeleted(String collection, long deleted) {
+        if (deleted > 0) meterRegistry.counter("jobs.sweeper.deleted", "collection", collection).increment(deleted);
+    }
+
+    private Duration backoff(int failures) {
+        Duration base = Duration.ofSeconds(10);
+        Duration backoff = base.multipliedBy(1L << Math.min(failures - 1, 10));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.server.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.server.model.Job;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đếm lượt xem chi tiết Job mà không ghi DB theo từng request.
+ * Mentor Note:
+ * - Mỗi jobId 1 LongAdder: nhiều thread cùng tăng 1 Job "hot" được rải ra các cell riêng,
+ *   không tranh chấp 1 biến/lock chung (5k view/s vẫn chỉ là vài phép cộng trong bộ nhớ).
+ * - Cứ flush-interval giây gom delta của mọi Job thành 1 bulkWrite UNORDERED ($inc) -> mỗi Job tối đa
+ *   1 lệnh ghi mỗi chu kỳ, dù có bao nhiêu lượt xem.
+ * - Flush lấy sum() rồi add(-sum) thay vì sumThenReset(): increment không khóa nên reset có thể xóa mất
+ *   lượt xem vừa cộng vào; add(-sum) giữ lại mọi lượt đến trong lúc flush cho lần sau.
+ *   Flush lỗi -> cộng trả delta vào bộ đếm, lần sau thử lại.
+ * - Key không có lượt xem cả 1 chu kỳ bị gỡ (trong computeIfPresent) để map không phình. Thread đã lấy
+ *   tham chiếu adder ngay trước khi gỡ vẫn có thể cộng vào -> adder đã gỡ được giữ thêm 1 chu kỳ và
+ *   phần còn lại được flush ở lần sau, không mất lượt xem.
+ * Lượt xem chưa flush chỉ nằm trong bộ nhớ: tắt đột ngột (không qua @PreDestroy) sẽ mất tối đa 1 chu kỳ.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobViewCounter {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Adder đã gỡ khỏi pending ở lần flush trước (chỉ thread flush đọc/ghi)
+    private Map<String, LongAdder> retired = new HashMap<>();
+
+    public void increment(String jobId) {
+        LongAdder adder = pending.get(jobId);
+        if (adder == null) adder = pending.computeIfAbsent(jobId, id -> new LongAdder());
+        adder.increment();
+    }
+
+    /**
+     * Lượt xem đã nhận nhưng chưa flush xuống DB.
+     */
+    public long pending(String jobId) {
+        LongAdder adder = pending.get(jobId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.views.flush-interval:5s}")
+    public synchronized void flush() {
+        Map<String, Long> collected = new HashMap<>();
+        // Lượt xem lọt vào adder đã gỡ ở lần trước
+        retired.forEach((jobId, adder) -> {
+            long rest = adder.sum();
+            if (rest != 0) collected.merge(jobId, rest, Long::sum);
+        });
+        Map<String, LongAdder> retiring = new HashMap<>();
+        for (String jobId : pending.keySet()) {
+            pending.computeIfPresent(jobId, (id, adder) -> {
+                long delta = adder.sum();
+                if (delta == 0) {
+                    // Không có lượt xem cả 1 chu kỳ -> gỡ key, giữ adder thêm 1 chu kỳ (xem Mentor Note)
+                    retiring.put(id, adder);
+                    return null;
+                }
+                adder.add(-delta);
+                collected.merge(id, delta, Long::sum);
+                return adder;
+            });
+        }
+        retired = retiring;
+        if (collected.isEmpty()) return;
+        List<Map.Entry<String, Long>> deltas = new ArrayList<>(collected.entrySet());
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+            for (Map.Entry<String, Long> delta : deltas) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(delta.getKey())), new Update().inc("viewCount", delta.getValue()));
+            }
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // UNORDERED: các lệnh khác vẫn đã ghi -> chỉ cộng trả delta của lệnh lỗi
+            log.warn("Failed to flush view counts for {} of {} jobs, will retry", e.getErrors().size(), deltas.size(), e);
+            e.getErrors().forEach(error -> restore(deltas.get(error.getIndex())));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush view counts for {} jobs, will retry", deltas.size(), e);
+            deltas.forEach(this::restore);
+        }
+    }
+
+    private void restore(Map.Entry<String, Long> delta) {
+        pending.computeIfAbsent(delta.getKey(), id -> new LongAdder()).add(delta.getValue());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.server.benchmark;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.server.model.Job;
+import com.example.server.model.JobStatus;
+import com.example.server.model.JobType;
+import com.example.server.repository.codec.JobCodec;
+
+/**
+ * So sánh chi phí decode 1 Job từ byte BSON (giống dữ liệu driver nhận từ wire):
+ * JobCodec đọc thẳng vs DocumentCodec + MappingMongoConverter (đường mặc định của MongoTemplate).
+ * Chạy main() từ IDE (classpath test) sau khi mvn test-compile; không chạy cùng mvn test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobDecodeBenchmark {
+
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private final JobCodec jobCodec = new JobCodec();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private MappingMongoConverter converter;
+    private RawBsonDocument raw;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        Instant now = Instant.now();
+        Job job = Job.builder()
+                .id(new ObjectId().toHexString())
+                .title("Senior Java Developer")
+                .titleFolded("senior java developer")
+                .companyId(new ObjectId().toHexString())
+                .description("Phát triển hệ thống backend cho nền tảng tuyển dụng. ".repeat(20))
+                .employmentType(JobType.FULL_TIME)
+                .minExperience(3)
+                .salaryMin(20_000_000.0)
+                .salaryMax(35_000_000.0)
+                .status(JobStatus.OPEN)
+                .deadline(now)
+                .tags(Set.of("java", "spring", "mongodb", "microservices"))
+                .postedByUserId(new ObjectId().toHexString())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        Document document = new Document();
+        converter.write(job, document);
+        raw = new RawBsonDocument(document, documentCodec);
+    }
+
+    @Benchmark
+    public Job codec() {
+        return jobCodec.decode(raw.asBsonReader(), decoderContext);
+    }
+
+    @Benchmark
+    public Job mappingConverter() {
+        Document document = documentCodec.decode(raw.asBsonReader(), decoderContext);
+        return converter.read(Job.class, document);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JobDecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.server.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.example.server.dto.JobDtos.JobSearchRequest;
+import com.example.server.model.JobSearchDocument;
+import com.example.server.model.JobStatus;
+import com.example.server.model.JobType;
+
+/**
+ * JobCatalog phải trả về đúng tập ID, tổng số và thứ tự như query MongoDB trên read model.
+ * Kỳ vọng được tính bằng JobSearchFilters.matchesFilters (cùng ngữ nghĩa với JobRepositoryCustomImpl),
+ * sắp theo createdAt - cộng vài ca viết tay cho các điểm dễ lệch (prefix không dấu, lương null/lẻ, tag).
+ */
+class JobCatalogTest {
+
+    private static final String[] CITIES = {"Hà Nội", "Hải Phòng", "Hồ Chí Minh", "Đà Nẵng", null};
+    private static final String[] CATEGORIES = {"Công nghệ thông tin", "Công nghiệp", "Kế toán", null};
+    private static final String[] TAGS = {"Java", "Spring", "React", "SQL", "Tiếng Anh"};
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final Random random = new Random(42);
+    private final List<JobSearchDocument> documents = new ArrayList<>();
+    private JobCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 400; i++) documents.add(randomDocument(BASE.plusSeconds(i * 60L)));
+        catalog = new JobCatalog();
+        catalog.rebuild(documents.stream());
+    }
+
+    @Test
+    void matchesMongoSemanticsForEveryFilterCombination() {
+        for (JobSearchRequest request : requests()) {
+            assertSameAsMongo(request);
+        }
+    }
+
+    @Test
+    void cityAndCategoryMatchFoldedPrefix() {
+        JobSearchDocument hanoi = document(BASE.plusSeconds(100_000), "Hà Nội", "Kế toán", 10_000_000.0, 20_000_000.0);
+        add(hanoi);
+
+        assertThat(search(filter("ha n", null), PageRequest.of(0, 1000)).getContent()).contains(hanoi.getId());
+        assertThat(search(filter("HÀ NỘI", "ke"), PageRequest.of(0, 1000)).getContent()).contains(hanoi.getId());
+        // "noi ha" không phải prefix của "ha noi"
+        assertThat(search(filter("noi ha", null), PageRequest.of(0, 10)).getTotalElements()).isZero();
+        assertSameAsMongo(filter("ha", "cong nghe"));
+    }
+
+    @Test
+    void salaryComparisonsAreExactForFractionalAndLargeValues() {
+        JobSearchDocument fractional = document(BASE.plusSeconds(100_000), "Hà Nội", null, 12_500_000.5, 12_500_000.5);
+        JobSearchDocument large = document(BASE.plusSeconds(100_060), "Hà Nội", null, 3_000_000_000.0, 4_000_000_000.0);
+        add(fractional);
+        add(large);
+
+        assertThat(search(salary(12_500_000.5, null), PageRequest.of(0, 1000)).getContent()).contains(fractional.getId());
+        assertThat(search(salary(12_500_000.6, null), PageRequest.of(0, 1000)).getContent()).doesNotContain(fractional.getId());
+        assertThat(search(salary(3_500_000_000.0, null), PageRequest.of(0, 1000)).getContent()).containsExactly(large.getId());
+        assertSameAsMongo(salary(12_500_000.5, 12_500_000.5));
+    }
+
+    @Test
+    void ordersLateArrivalsAndRemovalsByCreatedAt() {
+        // Job đến trễ (createdAt cũ hơn Job mới nhất) và xóa xen kẽ sau khi catalog đã sẵn sàng
+        add(randomDocument(BASE.plusSeconds(400 * 60L)));
+        for (int i = 0; i < 50; i++) {
+            add(randomDocument(BASE.plusSeconds(random.nextInt(400 * 60) + 30L)));
+            if (i % 3 == 0) remove(documents.get(random.nextInt(documents.size())));
+        }
+        add(randomDocument(BASE.minusSeconds(60))); // cũ hơn mọi Job
+
+        for (JobSearchRequest request : requests()) assertSameAsMongo(request);
+        assertPagesConcatenateToFullResult(filter(null, null));
+    }
+
+    @Test
+    void compactionKeepsResultsAndOrder() {
+        for (int i = 0; i < 1500; i++) {
+            add(randomDocument(BASE.plusSeconds(random.nextInt(400 * 60) + 30L)));
+        }
+        for (int i = 0; i < 100; i++) remove(documents.get(random.nextInt(documents.size())));
+
+        catalog.compact();
+        for (JobSearchRequest request : requests()) assertSameAsMongo(request);
+
+        // Sau compact vẫn nhận mutation bình thường
+        add(randomDocument(BASE.plusSeconds(1)));
+        remove(documents.get(0));
+        assertSameAsMongo(filter(null, null));
+    }
+
+    @Test
+    void updatesChangeFilterMembershipWithoutChangingOrder() {
+        JobSearchDocument doc = documents.get(10);
+        doc.setStatus(JobStatus.CLOSED);
+        doc.setCity("Đà Nẵng");
+        doc.setCityFolded(TextNormalizer.fold("Đà Nẵng"));
+        catalog.onIndexed(null, doc);
+
+        assertSameAsMongo(new JobSearchRequest(null, "da nang", null, null, null, null, null, JobStatus.CLOSED,
+                null, null, null, null, null));
+        assertSameAsMongo(filter(null, null));
+    }
+
+    // --- Assertions ---
+
+    private void assertSameAsMongo(JobSearchRequest request) {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<String> expected = expected(request, direction);
+            for (Pageable pageable : List.of(
+                    PageRequest.of(0, 20, Sort.by(direction, "createdAt")),
+                    PageRequest.of(3, 7, Sort.by(direction, "createdAt")),
+                    PageRequest.of(0, 10_000, Sort.by(direction, "createdAt")))) {
+                Page<String> page = search(request, pageable);
+                int from = (int) Math.min(pageable.getOffset(), expected.size());
+                int to = Math.min(from + pageable.getPageSize(), expected.size());
+                assertThat(page.getTotalElements()).as("total of %s", request).isEqualTo(expected.size());
+                assertThat(page.getContent()).as("%s %s", request, pageable).isEqualTo(expected.subList(from, to));
+            }
+        }
+    }
+
+    private void assertPagesConcatenateToFullResult(JobSearchRequest request) {
+        List<String> concatenated = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            Page<String> result = search(request, PageRequest.of(page, 13));
+            if (result.getContent().isEmpty()) break;
+            concatenated.addAll(result.getContent());
+        }
+        assertThat(concatenated).isEqualTo(expected(request, Sort.Direction.DESC));
+    }
+
+    private List<String> expected(JobSearchRequest request, Sort.Direction direction) {
+        // Cùng createdAt: Job thêm trước đứng trước (sort ổn định theo thứ tự thêm), giảm dần là đảo ngược
+        List<String> ascending = documents.stream()
+                .filter(doc -> JobSearchFilters.matchesFilters(request, doc))
+                .sorted(Comparator.comparing(JobSearchDocument::getCreatedAt))
+                .map(JobSearchDocument::getId)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (direction.isDescending()) Collections.reverse(ascending);
+        return ascending;
+    }
+
+    private Page<String> search(JobSearchRequest request, Pageable pageable) {
+        assertThat(catalog.supports(request, pageable)).isTrue();
+        return catalog.search(request, pageable);
+    }
+
+    // --- Fixtures ---
+
+    private List<JobSearchRequest> requests() {
+        List<JobSearchRequest> requests = new ArrayList<>();
+        requests.add(filter(null, null));
+        for (JobStatus status : JobStatus.values()) {
+            requests.add(new JobSearchRequest(null, null, null, null, null, null, null, status, null, null, null, null, null));
+        }
+        for (JobType type : JobType.values()) {
+            requests.add(new JobSearchRequest(null, null, null, null, null, null, type, JobStatus.OPEN, null, null, null, null, null));
+        }
+        for (String city : List.of("ha", "Hà Nội", "ho chi", "da", "x")) requests.add(filter(city, null));
+        for (String category : List.of("cong", "Công nghiệp", "ke toan")) requests.add(filter(null, category));
+        requests.add(filter("h", "cong"));
+        requests.add(salary(10_000_000.0, null));
+        requests.add(salary(null, 15_000_000.0));
+        requests.add(salary(12_000_000.0, 30_000_000.0));
+        requests.add(salary(200_000_000.0, null));
+        requests.add(new JobSearchRequest(null, null, null, null, null, 2, null, null, null, null, null, null, null));
+        requests.add(new JobSearchRequest(null, "ha", null, 8_000_000.0, null, 3, JobType.FULL_TIME, JobStatus.OPEN,
+                null, null, null, null, null));
+        requests.add(tags(List.of("java"), null));
+        requests.add(tags(List.of("Java", "spring"), null));
+        requests.add(tags(List.of("java", "react"), "any"));
+        requests.add(tags(List.of("tieng anh"), "all"));
+        requests.add(tags(List.of("kotlin"), "any"));
+        requests.add(tags(List.of("java", "kotlin"), null));
+        return requests;
+    }
+
+    private static JobSearchRequest filter(String city, String category) {
+        return new JobSearchRequest(null, city, category, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static JobSearchRequest salary(Double min, Double max) {
+        return new JobSearchRequest(null, null, null, min, max, null, null, null, null, null, null, null, null);
+    }
+
+    private static JobSearchRequest tags(List<String> tags, String mode) {
+        return new JobSearchRequest(null, null, null, null, null, null, null, null, tags, mode, null, null, null);
+    }
+
+    private void add(JobSearchDocument doc) {
+        documents.add(doc);
+        catalog.onIndexed(null, doc);
+    }
+
+    private void remove(JobSearchDocument doc) {
+        documents.remove(doc);
+        catalog.onRemoved(doc);
+    }
+
+    private JobSearchDocument randomDocument(Instant createdAt) {
+        Double min = random.nextInt(5) == 0 ? null : (double) (random.nextInt(40) * 1_000_000);
+        Double max = random.nextInt(5) == 0 ? null : (min != null ? min : 0) + random.nextInt(20) * 1_000_000;
+        JobSearchDocument doc = document(createdAt, pick(CITIES), pick(CATEGORIES), min, max);
+        doc.setStatus(random.nextInt(6) == 0 ? null : pick(JobStatus.values()));
+        doc.setEmploymentType(random.nextInt(6) == 0 ? null : pick(JobType.values()));
+        doc.setMinExperience(random.nextInt(4) == 0 ? null : random.nextInt(6));
+        Set<String> tags = IntStream.range(0, random.nextInt(4)).mapToObj(i -> pick(TAGS)).collect(Collectors.toSet());
+        doc.setTags(tags.isEmpty() ? null : tags);
+        doc.setTagsFolded(tags.isEmpty() ? null : tags.stream().map(TextNormalizer::fold).collect(Collectors.toSet()));
+        return doc;
+    }
+
+    private JobSearchDocument document(Instant createdAt, String city, String category, Double salaryMin, Double salaryMax) {
+        return JobSearchDocument.builder()
+                .id(new ObjectId().toHexString())
+                .createdAt(createdAt)
+                .status(JobStatus.OPEN)
+                .city(city)
+                .cityFolded(TextNormalizer.fold(city))
+                .categoryName(category)
+                .categoryNameFolded(TextNormalizer.fold(category))
+                .salaryMin(salaryMin)
+                .salaryMax(salaryMax)
+                .build();
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
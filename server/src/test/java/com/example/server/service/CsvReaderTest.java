@@ -0,0 +1,75 @@
+package com.example.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CsvReader theo RFC 4180: field trong dấu nháy, "" escape, CRLF, BOM và file hỏng (nháy không đóng).
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecordsAndKeepsEmptyFields() throws IOException {
+        assertThat(readAll("title,companyId,description\nJava,c1,\n,,x\n")).containsExactly(
+                List.of("title", "companyId", "description"),
+                List.of("Java", "c1", ""),
+                List.of("", "", "x"));
+    }
+
+    @Test
+    void quotedFieldsMayContainCommasAndNewlines() throws IOException {
+        assertThat(readAll("title,description\n\"Dev, Java\",\"Dòng 1\nDòng 2\r\nDòng 3\"\nNext,row")).containsExactly(
+                List.of("title", "description"),
+                List.of("Dev, Java", "Dòng 1\nDòng 2\r\nDòng 3"),
+                List.of("Next", "row"));
+    }
+
+    @Test
+    void doubledQuotesAreUnescaped() throws IOException {
+        assertThat(readAll("\"Senior \"\"Rockstar\"\" Dev\",\"\"\"\",\"\"\n")).containsExactly(
+                List.of("Senior \"Rockstar\" Dev", "\"", ""));
+    }
+
+    @Test
+    void acceptsCrLfAndCrLineEndingsAndSkipsBlankLines() throws IOException {
+        assertThat(readAll("a,b\r\n1,2\r\n\r\n3,4\r5,6\r\n")).containsExactly(
+                List.of("a", "b"),
+                List.of("1", "2"),
+                List.of("3", "4"),
+                List.of("5", "6"));
+    }
+
+    @Test
+    void stripsByteOrderMarkFromHeader() throws IOException {
+        assertThat(readAll("\uFEFFtitle,companyId\r\nJava,c1\r\n")).containsExactly(
+                List.of("title", "companyId"),
+                List.of("Java", "c1"));
+    }
+
+    @Test
+    void unterminatedQuoteReportsRemainingLines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("title,description\nOk,row\n\"Broken,x\nlater,row\n\nlast,row\n"));
+        assertThat(csv.next()).containsExactly("title", "description");
+        assertThat(csv.next()).containsExactly("Ok", "row");
+
+        // Dòng mở nháy + 2 dòng dữ liệu phía sau (dòng trống không tính)
+        assertThatThrownBy(csv::next)
+                .isInstanceOfSatisfying(CsvReader.UnterminatedQuoteException.class, e -> assertThat(e.lines()).isEqualTo(3));
+        assertThat(csv.next()).isNull();
+    }
+
+    private static List<List<String>> readAll(String content) throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(content));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = csv.next()) != null) records.add(record);
+        return records;
+    }
+}